@@ -17,12 +17,14 @@
 package consulo.dotnet.mono.debugger;
 
 import consulo.annotation.access.RequiredReadAction;
+import consulo.application.util.concurrent.AppExecutorUtil;
 import consulo.dotnet.debugger.impl.DotNetDebugProcessBase;
 import consulo.dotnet.debugger.impl.DotNetSuspendContext;
 import consulo.dotnet.debugger.impl.breakpoint.DotNetExceptionBreakpointType;
 import consulo.dotnet.debugger.impl.breakpoint.DotNetLineBreakpointType;
 import consulo.dotnet.debugger.impl.breakpoint.properties.DotNetExceptionBreakpointProperties;
 import consulo.dotnet.mono.debugger.breakpoint.MonoBreakpointUtil;
+import consulo.dotnet.mono.debugger.proxy.MonoVirtualMachineProxy;
 import consulo.dotnet.util.DebugConnectionInfo;
 import consulo.execution.configuration.RunProfile;
 import consulo.execution.debug.XBreakpointManager;
@@ -47,50 +49,166 @@ import mono.debugger.request.BreakpointRequest;
 import mono.debugger.request.EventRequestManager;
 import mono.debugger.request.StepRequest;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author VISTALL
  * @since 10.04.14
  */
 public class MonoDebugProcess extends DotNetDebugProcessBase {
+    /**
+     * Breakpoint changes are coalesced over short window, and net delta is applied to vm in one pass
+     */
     private class MyXBreakpointListener implements XBreakpointListener<XBreakpoint<?>> {
+        // breakpoint -> true if requests must be (re)created, false if removed. Guarded by itself
+        private final Map<XBreakpoint<?>, Boolean> myPendingChanges = new LinkedHashMap<>();
+
+        // true from scheduling of flush till its end, so flushes never run concurrently. Guarded by myPendingChanges
+        private boolean myFlushScheduled;
+
+        // flush waits for location resolving, it must not block shared scheduler
+        private final ExecutorService myFlushExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("mono breakpoint flush", 1);
+
         @Override
         public void breakpointAdded(@Nonnull final XBreakpoint<?> breakpoint) {
-            myDebugThread.invoke(virtualMachine ->
-            {
-                XBreakpointType<?, ?> type = breakpoint.getType();
-                if (type == DotNetLineBreakpointType.getInstance()) {
-                    MonoBreakpointUtil.createBreakpointRequest(getSession(), virtualMachine, (XLineBreakpoint) breakpoint, null, true);
-                }
-                else if (type == DotNetExceptionBreakpointType.getInstance()) {
-                    MonoBreakpointUtil.createExceptionRequest(getSession(), virtualMachine, (XBreakpoint<DotNetExceptionBreakpointProperties>) breakpoint, null);
-                }
-            });
+            postChange(breakpoint, true);
         }
 
         @Override
         public void breakpointRemoved(@Nonnull final XBreakpoint<?> breakpoint) {
-            myDebugThread.invoke(virtualMachine -> virtualMachine.disposeAllRelatedDataForBreakpoint(breakpoint, true));
+            postChange(breakpoint, false);
         }
 
         @Override
         public void breakpointChanged(@Nonnull XBreakpoint<?> breakpoint) {
-            if (breakpoint.isEnabled()) {
-                breakpointAdded(breakpoint);
+            postChange(breakpoint, breakpoint.isEnabled());
+        }
+
+        private void postChange(@Nonnull XBreakpoint<?> breakpoint, boolean add) {
+            synchronized (myPendingChanges) {
+                // last change wins
+                myPendingChanges.remove(breakpoint);
+                myPendingChanges.put(breakpoint, add);
+
+                if (myFlushScheduled) {
+                    return;
+                }
+                myFlushScheduled = true;
+            }
+
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+                try {
+                    myFlushExecutor.execute(this::flush);
+                }
+                catch (RejectedExecutionException ignored) {
+                    // process is stopped
+                }
+            }, BREAKPOINT_BATCH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void flush() {
+            Map<XBreakpoint<?>, Boolean> changes;
+            synchronized (myPendingChanges) {
+                changes = new LinkedHashMap<>(myPendingChanges);
+                myPendingChanges.clear();
+            }
+
+            try {
+                flush(changes);
+            }
+            finally {
+                boolean reschedule;
+                synchronized (myPendingChanges) {
+                    // changes posted while flush was running
+                    reschedule = !myPendingChanges.isEmpty();
+                    myFlushScheduled = reschedule;
+                }
+
+                if (reschedule) {
+                    scheduleFlush();
+                }
             }
-            else {
-                breakpointRemoved(breakpoint);
+        }
+
+        private void flush(@Nonnull Map<XBreakpoint<?>, Boolean> changes) {
+            // routes are kept even without vm, connect re-registers all of them
+            for (Map.Entry<XBreakpoint<?>, Boolean> entry : changes.entrySet()) {
+                XBreakpoint<?> breakpoint = entry.getKey();
+                XBreakpointType<?, ?> type = breakpoint.getType();
+                if (entry.getValue() && (type == DotNetLineBreakpointType.getInstance() || type == DotNetExceptionBreakpointType.getInstance())) {
+                    myDebugThread.addBreakpointRoute(breakpoint);
+                }
+                else {
+                    myDebugThread.removeBreakpointRoute(breakpoint);
+                }
+            }
+
+            MonoVirtualMachineProxy virtualMachine = myDebugThread.getVirtualMachine();
+            if (virtualMachine == null || changes.isEmpty()) {
+                return;
             }
+
+            List<XBreakpoint<?>> removed = new ArrayList<>();
+            List<XBreakpoint<DotNetExceptionBreakpointProperties>> exceptionBreakpoints = new ArrayList<>();
+            List<XLineBreakpoint<?>> lineBreakpoints = new ArrayList<>();
+            for (Map.Entry<XBreakpoint<?>, Boolean> entry : changes.entrySet()) {
+                XBreakpoint<?> breakpoint = entry.getKey();
+                if (!entry.getValue()) {
+                    removed.add(breakpoint);
+                    continue;
+                }
+
+                XBreakpointType<?, ?> type = breakpoint.getType();
+                if (type == DotNetLineBreakpointType.getInstance()) {
+                    lineBreakpoints.add((XLineBreakpoint<?>) breakpoint);
+                }
+                else if (type == DotNetExceptionBreakpointType.getInstance()) {
+                    exceptionBreakpoints.add((XBreakpoint<DotNetExceptionBreakpointProperties>) breakpoint);
+                }
+            }
+
+            // requests are created on flush thread, not via vm invoker - see MonoBreakpointUtil#createBreakpointRequests
+            try {
+                for (XBreakpoint<?> breakpoint : removed) {
+                    virtualMachine.disposeAllRelatedDataForBreakpoint(breakpoint, true);
+                }
+
+                for (XBreakpoint<DotNetExceptionBreakpointProperties> breakpoint : exceptionBreakpoints) {
+                    MonoBreakpointUtil.createExceptionRequest(getSession(), virtualMachine, breakpoint, null);
+                }
+            }
+            catch (VMDisconnectedException ignored) {
+                return;
+            }
+
+            // locations are resolved in parallel
+            MonoBreakpointUtil.createBreakpointRequests(getSession(), virtualMachine, lineBreakpoints, null, true);
+        }
+
+        private void dispose() {
+            myFlushExecutor.shutdown();
         }
     }
 
+    private static final long BREAKPOINT_BATCH_DELAY_MS = 50;
+
     private final DebugConnectionInfo myDebugConnectionInfo;
     private final MonoDebugThread myDebugThread;
 
     private EventSet myPausedEventSet;
     private XBreakpointManager myBreakpointManager;
-    private final XBreakpointListener<XBreakpoint<?>> myBreakpointListener = new MyXBreakpointListener();
+    private final MyXBreakpointListener myBreakpointListener = new MyXBreakpointListener();
 
     public MonoDebugProcess(XDebugSession session, RunProfile runProfile, DebugConnectionInfo debugConnectionInfo) {
         super(session, runProfile);
@@ -222,6 +340,7 @@ public class MonoDebugProcess extends DotNetDebugProcessBase {
         myDebugThread.connectionStopped();
         normalizeBreakpoints();
         myBreakpointManager.removeBreakpointListener(myBreakpointListener);
+        myBreakpointListener.dispose();
     }
 
     public void setPausedEventSet(EventSet pausedEventSet) {
@@ -17,33 +17,30 @@
 package consulo.dotnet.mono.debugger;
 
 import consulo.annotation.UsedInPlugin;
-import consulo.application.AccessRule;
 import consulo.application.util.function.Processor;
 import consulo.dotnet.debugger.DotNetDebugContext;
+import consulo.dotnet.debugger.DotNetDebuggerUtil;
 import consulo.dotnet.debugger.impl.DotNetDebugProcessBase;
 import consulo.dotnet.debugger.impl.DotNetSuspendContext;
 import consulo.dotnet.debugger.impl.breakpoint.DotNetBreakpointEngine;
 import consulo.dotnet.debugger.impl.breakpoint.DotNetBreakpointUtil;
+import consulo.dotnet.debugger.impl.breakpoint.DotNetExceptionBreakpointType;
 import consulo.dotnet.debugger.impl.breakpoint.properties.DotNetExceptionBreakpointProperties;
 import consulo.dotnet.debugger.impl.breakpoint.properties.DotNetMethodBreakpointProperties;
 import consulo.dotnet.debugger.proxy.DotNetNotSuspendedException;
+import consulo.dotnet.mono.debugger.breakpoint.MonoBreakpointRoutes;
 import consulo.dotnet.mono.debugger.breakpoint.MonoBreakpointUtil;
 import consulo.dotnet.mono.debugger.proxy.MonoThreadProxy;
 import consulo.dotnet.mono.debugger.proxy.MonoVirtualMachineProxy;
-import consulo.dotnet.psi.DotNetTypeDeclaration;
 import consulo.dotnet.util.DebugConnectionInfo;
 import consulo.execution.debug.XDebugSession;
 import consulo.execution.debug.breakpoint.XBreakpoint;
 import consulo.execution.debug.breakpoint.XLineBreakpoint;
 import consulo.execution.ui.console.ConsoleView;
 import consulo.execution.ui.console.ConsoleViewContentType;
-import consulo.language.editor.util.PsiUtilBase;
 import consulo.logging.Logger;
 import consulo.proxy.EventDispatcher;
-import consulo.util.lang.Comparing;
 import consulo.util.lang.StringUtil;
-import consulo.virtualFileSystem.VirtualFile;
-import consulo.virtualFileSystem.VirtualFileManager;
 import mono.debugger.*;
 import mono.debugger.connect.Connector;
 import mono.debugger.event.*;
@@ -51,12 +48,18 @@ import mono.debugger.request.EventRequest;
 import mono.debugger.request.TypeLoadRequest;
 
 import jakarta.annotation.Nonnull;
-import java.io.IOException;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
@@ -74,10 +77,16 @@ public class MonoDebugThread extends Thread
 	private final DebugConnectionInfo myDebugConnectionInfo;
 	private final DotNetBreakpointEngine myBreakpointEngine = new DotNetBreakpointEngine();
 	private final Queue<Processor<MonoVirtualMachineProxy>> myQueue = new ConcurrentLinkedQueue<Processor<MonoVirtualMachineProxy>>();
+	private final Queue<EventSet> myEventSets = new ConcurrentLinkedQueue<EventSet>();
 	private final EventDispatcher<MonoVirtualMachineListener> myEventDispatcher = EventDispatcher.create(MonoVirtualMachineListener.class);
 
+	private final MonoBreakpointRoutes myBreakpointRoutes = new MonoBreakpointRoutes();
+
 	private volatile MonoVirtualMachineProxy myVirtualMachine;
-	private boolean myStop;
+	private volatile boolean myStop;
+
+	private volatile Thread myEventReader;
+	private volatile boolean myEventReaderStopped;
 
 	public MonoDebugThread(XDebugSession session, MonoDebugProcess debugProcess, DebugConnectionInfo debugConnectionInfo)
 	{
@@ -102,6 +111,14 @@ public class MonoDebugThread extends Thread
 	public void connectionStopped()
 	{
 		myStop = true;
+		LockSupport.unpark(this);
+
+		Thread eventReader = myEventReader;
+		if(eventReader != null)
+		{
+			eventReader.interrupt();
+		}
+
 		myEventDispatcher.getMulticaster().connectionStopped();
 
 		if(myVirtualMachine != null)
@@ -180,6 +197,8 @@ public class MonoDebugThread extends Thread
 
 		for(XLineBreakpoint<?> breakpoint : myDebugProcess.getLineBreakpoints())
 		{
+			addBreakpointRoute(breakpoint);
+
 			myVirtualMachine.enableTypeRequest(breakpoint, MonoBreakpointUtil.getTypeQNameFromBreakpoint(mySession.getProject(), breakpoint));
 
 			DotNetBreakpointUtil.updateLineBreakpointIcon(mySession.getProject(), null, breakpoint);
@@ -191,6 +210,7 @@ public class MonoDebugThread extends Thread
 			String vmQName = exceptionBreakpoint.getProperties().VM_QNAME;
 			if(!StringUtil.isEmpty(vmQName))
 			{
+				addBreakpointRoute(exceptionBreakpoint);
 				continue;
 			}
 			MonoBreakpointUtil.createExceptionRequest(getSession(), myVirtualMachine, exceptionBreakpoint, null);
@@ -227,203 +247,262 @@ public class MonoDebugThread extends Thread
 			return;
 		}
 
+		EventQueue eventQueue = virtualMachine.eventQueue();
+		Thread eventReader = new Thread(ourThreadGroup, () -> readEvents(eventQueue), getName() + " events");
+		eventReader.setDaemon(true);
+		eventReader.start();
+		myEventReader = eventReader;
+
+		// dispatcher sleeps until command or event set is posted, both wake it up immediately
 		while(!myStop)
 		{
 			processCommands(myVirtualMachine);
 
-			EventQueue eventQueue = virtualMachine.eventQueue();
-			EventSet eventSet;
-			try
+			EventSet eventSet = myEventSets.poll();
+			if(eventSet != null)
 			{
-				boolean stopped = false;
-				boolean focusUI = false;
+				processEventSet(virtualMachine, eventSet);
+				continue;
+			}
+
+			if(myEventReaderStopped)
+			{
+				connectionStopped();
+				break;
+			}
+
+			// permit from unpark() between check and park() is not lost
+			if(myQueue.isEmpty() && myEventSets.isEmpty() && !myStop)
+			{
+				LockSupport.park(this);
+			}
+		}
+	}
 
-				while((eventSet = eventQueue.remove(1)) != null)
+	private void readEvents(EventQueue eventQueue)
+	{
+		try
+		{
+			while(!myStop)
+			{
+				EventSet eventSet = eventQueue.remove();
+				if(eventSet != null)
 				{
-					for(final Event event : eventSet)
-					{
-						if(event instanceof BreakpointEvent)
-						{
-							stopped = true;
+					myEventSets.add(eventSet);
+					LockSupport.unpark(this);
+				}
+			}
+		}
+		catch(Exception e)
+		{
+			// disconnected or interrupted on stop
+		}
+		finally
+		{
+			myEventReaderStopped = true;
+			LockSupport.unpark(this);
+		}
+	}
 
-							EventRequest request = event.request();
-							XBreakpoint<?> breakpoint = request == null ? null : myVirtualMachine.findBreakpointByRequest(request);
-							DotNetDebugContext debugContext = myDebugProcess.createDebugContext(myVirtualMachine, breakpoint);
-							if(breakpoint != null)
-							{
-								MonoThreadProxy threadProxy = new MonoThreadProxy(myVirtualMachine, eventSet.eventThread());
+	private void processEventSet(VirtualMachine virtualMachine, EventSet eventSet)
+	{
+		try
+		{
+			boolean stopped = false;
+			boolean focusUI = false;
 
-								final String message = myBreakpointEngine.tryEvaluateBreakpointLogMessage(threadProxy, (XLineBreakpoint<?>) breakpoint, debugContext);
+			for(final Event event : eventSet)
+			{
+				if(event instanceof BreakpointEvent)
+				{
+					stopped = true;
 
-								if(myBreakpointEngine.tryEvaluateBreakpointCondition(threadProxy, (XLineBreakpoint<?>) breakpoint, debugContext))
-								{
-									DotNetSuspendContext suspendContext = new DotNetSuspendContext(debugContext, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread()));
+					EventRequest request = event.request();
+					XBreakpoint<?> breakpoint = request == null ? null : myVirtualMachine.findBreakpointByRequest(request);
+					DotNetDebugContext debugContext = myDebugProcess.createDebugContext(myVirtualMachine, breakpoint);
+					if(breakpoint != null)
+					{
+						MonoThreadProxy threadProxy = new MonoThreadProxy(myVirtualMachine, eventSet.eventThread());
 
-									mySession.breakpointReached(breakpoint, message, suspendContext);
-								}
-								else
-								{
-									stopped = false;
-								}
-							}
-							else
-							{
-								if(request != null)
-								{
-									final Object property = request.getProperty(DotNetDebugProcessBase.RUN_TO_CURSOR);
-									if(property != null)
-									{
-										request.delete();
-									}
-								}
-
-								mySession.positionReached(new DotNetSuspendContext(debugContext, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
-								focusUI = true;
-							}
-						}
-						else if(event instanceof StepEvent)
-						{
-							DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, null);
+						final String message = myBreakpointEngine.tryEvaluateBreakpointLogMessage(threadProxy, (XLineBreakpoint<?>) breakpoint, debugContext);
 
-							mySession.positionReached(new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
-							stopped = true;
-						}
-						else if(event instanceof UserBreakEvent)
+						if(myBreakpointEngine.tryEvaluateBreakpointCondition(threadProxy, (XLineBreakpoint<?>) breakpoint, debugContext))
 						{
-							DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, null);
-							mySession.positionReached(new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
-							stopped = true;
-							focusUI = true;
-						}
-						else if(event instanceof AppDomainCreateEvent)
-						{
-							AppDomainMirror appDomainMirror = ((AppDomainCreateEvent) event).getAppDomainMirror();
-							myVirtualMachine.loadAppDomain(appDomainMirror);
-						}
-						else if(event instanceof AppDomainUnloadEvent)
-						{
-							AppDomainMirror appDomainMirror = ((AppDomainUnloadEvent) event).getAppDomainMirror();
-							myVirtualMachine.unloadAppDomain(appDomainMirror);
-						}
-						else if(event instanceof TypeLoadEvent)
-						{
-							TypeMirror typeMirror = ((TypeLoadEvent) event).typeMirror();
+							DotNetSuspendContext suspendContext = new DotNetSuspendContext(debugContext, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread()));
 
-							insertBreakpoints(myVirtualMachine, typeMirror);
-						}
-						else if(event instanceof VMDeathEvent)
-						{
-							connectionStopped();
-							return;
+							mySession.breakpointReached(breakpoint, message, suspendContext);
 						}
-						else if(event instanceof UserLogEvent)
+						else
 						{
-							//int level = ((UserLogEvent) event).getLevel();
-							String category = ((UserLogEvent) event).getCategory();
-							String message = ((UserLogEvent) event).getMessage();
-
-							ConsoleView consoleView = mySession.getConsoleView();
-							consoleView.print("[" + category + "] " + message + "\n", ConsoleViewContentType.USER_INPUT);
+							stopped = false;
 						}
-						else if(event instanceof ExceptionEvent)
+					}
+					else
+					{
+						if(request != null)
 						{
-							XBreakpoint<?> breakpoint = myVirtualMachine.findBreakpointByRequest(event.request());
-							DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, breakpoint);
-
-							DotNetSuspendContext suspendContext = new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread()));
-							if(breakpoint != null)
-							{
-								mySession.breakpointReached(breakpoint, null, suspendContext);
-							}
-							else
+							final Object property = request.getProperty(DotNetDebugProcessBase.RUN_TO_CURSOR);
+							if(property != null)
 							{
-								mySession.positionReached(suspendContext);
-								focusUI = true;
+								request.delete();
 							}
-							stopped = true;
-						}
-						else if(event instanceof MethodEntryEvent)
-						{
-							//
-						}
-						else if(event instanceof MethodExitEvent)
-						{
-							//
-						}
-						else
-						{
-							LOGGER.error("Unknown event " + event.getClass().getSimpleName());
 						}
+
+						mySession.positionReached(new DotNetSuspendContext(debugContext, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
+						focusUI = true;
 					}
+				}
+				else if(event instanceof StepEvent)
+				{
+					DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, null);
 
-					if(stopped)
-					{
-						myVirtualMachine.stopStepRequests();
+					mySession.positionReached(new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
+					stopped = true;
+				}
+				else if(event instanceof UserBreakEvent)
+				{
+					DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, null);
+					mySession.positionReached(new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread())));
+					stopped = true;
+					focusUI = true;
+				}
+				else if(event instanceof AppDomainCreateEvent)
+				{
+					AppDomainMirror appDomainMirror = ((AppDomainCreateEvent) event).getAppDomainMirror();
+					myVirtualMachine.loadAppDomain(appDomainMirror);
+				}
+				else if(event instanceof AppDomainUnloadEvent)
+				{
+					AppDomainMirror appDomainMirror = ((AppDomainUnloadEvent) event).getAppDomainMirror();
+					myVirtualMachine.unloadAppDomain(appDomainMirror);
+				}
+				else if(event instanceof TypeLoadEvent)
+				{
+					TypeMirror typeMirror = ((TypeLoadEvent) event).typeMirror();
+
+					insertBreakpoints(myVirtualMachine, typeMirror);
+				}
+				else if(event instanceof VMDeathEvent)
+				{
+					connectionStopped();
+					return;
+				}
+				else if(event instanceof UserLogEvent)
+				{
+					//int level = ((UserLogEvent) event).getLevel();
+					String category = ((UserLogEvent) event).getCategory();
+					String message = ((UserLogEvent) event).getMessage();
+
+					ConsoleView consoleView = mySession.getConsoleView();
+					consoleView.print("[" + category + "] " + message + "\n", ConsoleViewContentType.USER_INPUT);
+				}
+				else if(event instanceof ExceptionEvent)
+				{
+					XBreakpoint<?> breakpoint = myVirtualMachine.findBreakpointByRequest(event.request());
+					DotNetDebugContext context = myDebugProcess.createDebugContext(myVirtualMachine, breakpoint);
 
-						myDebugProcess.setPausedEventSet(eventSet);
-						
-						break;
+					DotNetSuspendContext suspendContext = new DotNetSuspendContext(context, MonoThreadProxy.getIdFromThread(myVirtualMachine, eventSet.eventThread()));
+					if(breakpoint != null)
+					{
+						mySession.breakpointReached(breakpoint, null, suspendContext);
 					}
 					else
 					{
-						try
-						{
-							virtualMachine.resume();
-							break;
-						}
-						catch(NotSuspendedException ignored)
-						{
-							// when u attached - app is not suspended
-						}
+						mySession.positionReached(suspendContext);
+						focusUI = true;
 					}
+					stopped = true;
+				}
+				else if(event instanceof MethodEntryEvent)
+				{
+					//
+				}
+				else if(event instanceof MethodExitEvent)
+				{
+					//
+				}
+				else
+				{
+					LOGGER.error("Unknown event " + event.getClass().getSimpleName());
 				}
 			}
-			catch(VMDisconnectedException | IOException e)
-			{
-				connectionStopped();
-			}
-			catch(DotNetNotSuspendedException e)
+
+			if(stopped)
 			{
-				// dont interest
+				myVirtualMachine.stopStepRequests();
+
+				myDebugProcess.setPausedEventSet(eventSet);
 			}
-			catch(Throwable e)
+			else
 			{
-				LOGGER.error(e);
+				try
+				{
+					myVirtualMachine.invalidateFrames();
+					virtualMachine.resume();
+				}
+				catch(NotSuspendedException ignored)
+				{
+					// when u attached - app is not suspended
+				}
 			}
 		}
+		catch(VMDisconnectedException e)
+		{
+			connectionStopped();
+		}
+		catch(DotNetNotSuspendedException e)
+		{
+			// dont interest
+		}
+		catch(Throwable e)
+		{
+			LOGGER.error(e);
+		}
 	}
 
+	@SuppressWarnings("unchecked")
 	private void insertBreakpoints(final MonoVirtualMachineProxy virtualMachine, final TypeMirror typeMirror)
 	{
-		final DotNetDebugContext debugContext = myDebugProcess.createDebugContext(virtualMachine, null);
+		// exception breakpoints are routed by full name, line breakpoints by vm name
+		String fullName = typeMirror.fullName();
+		String vmQName = DotNetDebuggerUtil.getVmQName(fullName);
 
-		Collection<? extends XBreakpoint<DotNetExceptionBreakpointProperties>> exceptionBreakpoints = myDebugProcess.getExceptionBreakpoints();
-		for(XBreakpoint<DotNetExceptionBreakpointProperties> exceptionBreakpoint : exceptionBreakpoints)
+		List<XBreakpoint<DotNetExceptionBreakpointProperties>> exceptionBreakpoints = new ArrayList<>();
+		Set<XLineBreakpoint<?>> targetBreakpoints = new LinkedHashSet<>();
+		for(String qName : new LinkedHashSet<>(Arrays.asList(fullName, vmQName)))
 		{
-			MonoBreakpointUtil.createExceptionRequest(getSession(), myVirtualMachine, exceptionBreakpoint, typeMirror);
-		}
-
-		DotNetTypeDeclaration[] typeDeclarations = AccessRule.read(() -> MonoDebugUtil.findTypesByQualifiedName(typeMirror, debugContext));
-
-		if(typeDeclarations.length > 0)
-		{
-			Collection<? extends XLineBreakpoint<?>> breakpoints = myDebugProcess.getLineBreakpoints();
-			for(DotNetTypeDeclaration dotNetTypeDeclaration : typeDeclarations)
+			for(XBreakpoint<?> breakpoint : myBreakpointRoutes.get(qName))
 			{
-				VirtualFile typeVirtualFile = PsiUtilBase.getVirtualFile(dotNetTypeDeclaration);
-
-				for(final XLineBreakpoint<?> breakpoint : breakpoints)
+				if(breakpoint instanceof XLineBreakpoint)
 				{
-					VirtualFile lineBreakpoint = VirtualFileManager.getInstance().findFileByUrl(breakpoint.getFileUrl());
-					if(!Comparing.equal(typeVirtualFile, lineBreakpoint))
-					{
-						continue;
-					}
-
-					MonoBreakpointUtil.createBreakpointRequest(mySession, virtualMachine, breakpoint, typeMirror, false);
+					targetBreakpoints.add((XLineBreakpoint<?>) breakpoint);
+				}
+				else if(breakpoint.getType() == DotNetExceptionBreakpointType.getInstance())
+				{
+					exceptionBreakpoints.add((XBreakpoint<DotNetExceptionBreakpointProperties>) breakpoint);
 				}
 			}
 		}
+
+		for(XBreakpoint<DotNetExceptionBreakpointProperties> exceptionBreakpoint : exceptionBreakpoints)
+		{
+			MonoBreakpointUtil.createExceptionRequest(getSession(), virtualMachine, exceptionBreakpoint, typeMirror);
+		}
+
+		MonoBreakpointUtil.createBreakpointRequests(mySession, virtualMachine, targetBreakpoints, typeMirror, false);
+	}
+
+	/**
+	 * Register breakpoint in routing table of type loads, by qualified name of its type. Must be called on breakpoint add and change
+	 */
+	public void addBreakpointRoute(@Nonnull XBreakpoint<?> breakpoint)
+	{
+		myBreakpointRoutes.add(breakpoint, MonoBreakpointUtil.getTypeQNameFromBreakpoint(mySession.getProject(), breakpoint));
+	}
+
+	public void removeBreakpointRoute(@Nonnull XBreakpoint<?> breakpoint)
+	{
+		myBreakpointRoutes.remove(breakpoint);
 	}
 
 	private void processCommands(MonoVirtualMachineProxy virtualMachine)
@@ -461,6 +540,13 @@ public class MonoDebugThread extends Thread
 		}
 
 		myQueue.add(processor);
+		LockSupport.unpark(this);
+	}
+
+	@Nullable
+	public MonoVirtualMachineProxy getVirtualMachine()
+	{
+		return myVirtualMachine;
 	}
 
 	public boolean isConnected()
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.dotnet.mono.debugger.breakpoint;
+
+import consulo.execution.debug.breakpoint.XBreakpoint;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routing table of type loads: qualified name of type -> breakpoints, which need requests when type is loaded.
+ * Changes are synchronized, lookup is lock free
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonoBreakpointRoutes
+{
+	private final Map<String, Set<XBreakpoint<?>>> myBreakpoints = new ConcurrentHashMap<>();
+	private final Map<XBreakpoint<?>, String> myQNames = new ConcurrentHashMap<>();
+
+	/**
+	 * Register breakpoint by qualified name of its type, previous route of breakpoint is dropped
+	 */
+	public synchronized void add(@Nonnull XBreakpoint<?> breakpoint, @Nullable String qName)
+	{
+		remove(breakpoint);
+
+		if(qName == null)
+		{
+			return;
+		}
+
+		myBreakpoints.computeIfAbsent(qName, it -> ConcurrentHashMap.newKeySet()).add(breakpoint);
+		myQNames.put(breakpoint, qName);
+	}
+
+	public synchronized void remove(@Nonnull XBreakpoint<?> breakpoint)
+	{
+		String qName = myQNames.remove(breakpoint);
+		if(qName == null)
+		{
+			return;
+		}
+
+		Set<XBreakpoint<?>> breakpoints = myBreakpoints.get(qName);
+		if(breakpoints != null)
+		{
+			breakpoints.remove(breakpoint);
+			if(breakpoints.isEmpty())
+			{
+				myBreakpoints.remove(qName);
+			}
+		}
+	}
+
+	@Nonnull
+	public Set<XBreakpoint<?>> get(@Nonnull String qName)
+	{
+		Set<XBreakpoint<?>> breakpoints = myBreakpoints.get(qName);
+		return breakpoints == null ? Collections.emptySet() : Collections.unmodifiableSet(breakpoints);
+	}
+
+	@Nullable
+	public String getQName(@Nonnull XBreakpoint<?> breakpoint)
+	{
+		return myQNames.get(breakpoint);
+	}
+
+	public boolean isEmpty()
+	{
+		return myQNames.isEmpty();
+	}
+}
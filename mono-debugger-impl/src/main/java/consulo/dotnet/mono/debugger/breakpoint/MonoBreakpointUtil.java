@@ -18,6 +18,8 @@ package consulo.dotnet.mono.debugger.breakpoint;
 
 import consulo.annotation.access.RequiredReadAction;
 import consulo.application.AccessRule;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
 import consulo.dotnet.debugger.DotNetDebuggerSourceLineResolver;
 import consulo.dotnet.debugger.DotNetDebuggerUtil;
 import consulo.dotnet.debugger.impl.breakpoint.DotNetBreakpointUtil;
@@ -28,8 +30,8 @@ import consulo.dotnet.debugger.impl.breakpoint.properties.DotNetLineBreakpointPr
 import consulo.dotnet.debugger.impl.breakpoint.properties.DotNetMethodBreakpointProperties;
 import consulo.dotnet.debugger.impl.nodes.DotNetDebuggerCompilerGenerateUtil;
 import consulo.dotnet.mono.debugger.TypeMirrorUnloadedException;
+import consulo.dotnet.mono.debugger.proxy.MonoMethodDebugInfoCache;
 import consulo.dotnet.mono.debugger.proxy.MonoMethodProxy;
-import consulo.dotnet.mono.debugger.proxy.MonoTypeProxy;
 import consulo.dotnet.mono.debugger.proxy.MonoVirtualMachineProxy;
 import consulo.dotnet.util.ArrayUtil2;
 import consulo.execution.debug.XDebugSession;
@@ -38,15 +40,15 @@ import consulo.execution.debug.breakpoint.XLineBreakpoint;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
 import consulo.language.psi.PsiManager;
+import consulo.language.psi.util.PsiModificationTracker;
 import consulo.language.psi.util.PsiTreeUtil;
+import consulo.logging.Logger;
+import consulo.module.content.ProjectRootManager;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
-import consulo.util.collection.primitive.ints.IntSet;
-import consulo.util.collection.primitive.ints.IntSets;
 import consulo.util.lang.Comparing;
 import consulo.util.lang.Couple;
 import consulo.util.lang.StringUtil;
-import consulo.util.lang.ref.SimpleReference;
 import consulo.virtualFileSystem.LocalFileSystem;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.VirtualFileManager;
@@ -59,6 +61,8 @@ import mono.debugger.request.ExceptionRequest;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * @author VISTALL
@@ -66,6 +70,8 @@ import java.util.*;
  */
 public class MonoBreakpointUtil
 {
+	private static final Logger LOGGER = Logger.getInstance(MonoBreakpointUtil.class);
+
 	public static class FindLocationResult
 	{
 		public static final FindLocationResult WRONG_TARGET = new FindLocationResult();
@@ -89,6 +95,40 @@ public class MonoBreakpointUtil
 		}
 	}
 
+	private static final class LineKey
+	{
+		private final VirtualFile myFile;
+		private final int myLine;
+
+		private LineKey(VirtualFile file, int line)
+		{
+			myFile = file;
+			myLine = line;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if(this == o)
+			{
+				return true;
+			}
+			if(!(o instanceof LineKey))
+			{
+				return false;
+			}
+			LineKey lineKey = (LineKey) o;
+			return myLine == lineKey.myLine && myFile.equals(lineKey.myFile);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * myFile.hashCode() + myLine;
+		}
+	}
+
+	private static final int VM_QNAME_CACHE_SIZE = 1000;
 
 	@Nullable
 	@SuppressWarnings("unchecked")
@@ -126,14 +166,34 @@ public class MonoBreakpointUtil
 			return null;
 		}
 
-		return AccessRule.read(() ->
+		return getVmQName(project, fileByUrl, breakpoint.getLine());
+	}
+
+	/**
+	 * @return vm qualified name of type, which contains code at line. Cached until psi or project roots are changed
+	 */
+	@Nullable
+	public static String getVmQName(@Nonnull Project project, @Nonnull VirtualFile virtualFile, int line)
+	{
+		Map<LineKey, String> cache = getVmQNameCache(project);
+		LineKey key = new LineKey(virtualFile, line);
+
+		synchronized(cache)
+		{
+			if(cache.containsKey(key))
+			{
+				return cache.get(key);
+			}
+		}
+
+		String vmQName = AccessRule.read(() ->
 		{
-			PsiFile file = PsiManager.getInstance(project).findFile(fileByUrl);
+			PsiFile file = PsiManager.getInstance(project).findFile(virtualFile);
 			if(file == null)
 			{
 				return null;
 			}
-			PsiElement psiElement = DotNetDebuggerUtil.findPsiElement(file, breakpoint.getLine());
+			PsiElement psiElement = DotNetDebuggerUtil.findPsiElement(file, line);
 			if(psiElement == null)
 			{
 				return null;
@@ -142,6 +202,33 @@ public class MonoBreakpointUtil
 			assert resolver != null;
 			return resolver.resolveParentVmQName(psiElement);
 		});
+
+		synchronized(cache)
+		{
+			cache.put(key, vmQName);
+		}
+		return vmQName;
+	}
+
+	/**
+	 * (file, line) -> vm qualified name of parent type at line, null if line has no type. Map is guarded by itself, least recently used lines are evicted.
+	 * Dropped on psi change, and on roots change - namespace of module can be changed by it
+	 */
+	@Nonnull
+	private static Map<LineKey, String> getVmQNameCache(@Nonnull Project project)
+	{
+		return CachedValuesManager.getManager(project).getCachedValue(project, () ->
+		{
+			Map<LineKey, String> cache = new LinkedHashMap<LineKey, String>(16, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<LineKey, String> eldest)
+				{
+					return size() > VM_QNAME_CACHE_SIZE;
+				}
+			};
+			return CachedValueProvider.Result.create(cache, PsiModificationTracker.getInstance(project), ProjectRootManager.getInstance(project));
+		});
 	}
 
 	public static void createMethodRequest(final XDebugSession session, @Nonnull MonoVirtualMachineProxy virtualMachine, @Nonnull final XLineBreakpoint<DotNetMethodBreakpointProperties> breakpoint)
@@ -189,26 +276,142 @@ public class MonoBreakpointUtil
 											   @Nullable TypeMirror typeMirror,
 											   boolean insertTypeLoad)
 	{
-		try
+		FindLocationResult result = resolveLocations(debugSession.getProject(), virtualMachine, breakpoint, typeMirror);
+		if(result == null)
 		{
-			Project project = debugSession.getProject();
+			return;
+		}
 
-			FindLocationResult result = findLocationsImpl(project, virtualMachine, breakpoint, typeMirror);
-			if(result == FindLocationResult.WRONG_TARGET)
+		commitBreakpointRequest(debugSession, virtualMachine, breakpoint, result, insertTypeLoad);
+	}
+
+	/**
+	 * Resolve locations of breakpoints in parallel, and after it create requests on calling thread.
+	 * Requests are not created via vm invoker - it can be blocked by evaluation, which waits for this thread (for example type load while invoke)
+	 */
+	public static void createBreakpointRequests(@Nonnull XDebugSession debugSession,
+												@Nonnull MonoVirtualMachineProxy virtualMachine,
+												@Nonnull Collection<? extends XLineBreakpoint<?>> breakpoints,
+												@Nullable TypeMirror typeMirror,
+												boolean insertTypeLoad)
+	{
+		if(breakpoints.isEmpty())
+		{
+			return;
+		}
+
+		Project project = debugSession.getProject();
+
+		Map<XLineBreakpoint<?>, Future<FindLocationResult>> futures = new LinkedHashMap<>();
+		for(XLineBreakpoint<?> breakpoint : breakpoints)
+		{
+			futures.put(breakpoint, virtualMachine.submitResolve(() -> resolveLocations(project, virtualMachine, breakpoint, typeMirror)));
+		}
+
+		Map<XLineBreakpoint<?>, FindLocationResult> results = new LinkedHashMap<>();
+		for(Map.Entry<XLineBreakpoint<?>, Future<FindLocationResult>> entry : futures.entrySet())
+		{
+			try
+			{
+				FindLocationResult result = entry.getValue().get();
+				if(result != null)
+				{
+					results.put(entry.getKey(), result);
+				}
+			}
+			catch(InterruptedException e)
 			{
+				Thread.currentThread().interrupt();
 				return;
 			}
+			catch(ExecutionException e)
+			{
+				logResolveError(e.getCause());
+			}
+		}
+
+		if(results.isEmpty())
+		{
+			return;
+		}
+
+		commitBreakpointRequests(debugSession, virtualMachine, results, insertTypeLoad);
+	}
+
+	/**
+	 * @return null if breakpoint target is wrong, or resolving failed
+	 */
+	@Nullable
+	private static FindLocationResult resolveLocations(@Nonnull Project project,
+													   @Nonnull MonoVirtualMachineProxy virtualMachine,
+													   @Nonnull XLineBreakpoint<?> breakpoint,
+													   @Nullable TypeMirror typeMirror)
+	{
+		try
+		{
+			FindLocationResult result = findLocationsImpl(project, virtualMachine, breakpoint, typeMirror);
+			return result == FindLocationResult.WRONG_TARGET ? null : result;
+		}
+		catch(Exception e)
+		{
+			logResolveError(e);
+			return null;
+		}
+	}
+
+	private static void logResolveError(@Nonnull Throwable e)
+	{
+		// vm is gone or type is unloaded while resolving - breakpoint is just not bound
+		if(!(e instanceof VMDisconnectedException) && !(e instanceof TypeMirrorUnloadedException))
+		{
+			LOGGER.error(e);
+		}
+	}
+
+	private static void commitBreakpointRequests(@Nonnull XDebugSession debugSession,
+												 @Nonnull MonoVirtualMachineProxy virtualMachine,
+												 @Nonnull Map<XLineBreakpoint<?>, FindLocationResult> results,
+												 boolean insertTypeLoad)
+	{
+		for(Map.Entry<XLineBreakpoint<?>, FindLocationResult> entry : results.entrySet())
+		{
+			commitBreakpointRequest(debugSession, virtualMachine, entry.getKey(), entry.getValue(), insertTypeLoad);
+		}
+	}
 
+	/**
+	 * Old requests of breakpoint are deleted, after it new requests are created. Requests of disabled breakpoint are not enabled
+	 */
+	private static void commitBreakpointRequest(@Nonnull XDebugSession debugSession,
+												@Nonnull MonoVirtualMachineProxy virtualMachine,
+												@Nonnull XLineBreakpoint<?> breakpoint,
+												@Nonnull FindLocationResult result,
+												boolean insertTypeLoad)
+	{
+		Project project = debugSession.getProject();
+
+		try
+		{
 			virtualMachine.disposeAllRelatedDataForBreakpoint(breakpoint, insertTypeLoad);
+		}
+		catch(Exception ignored)
+		{
+		}
 
+		try
+		{
 			Collection<Location> locations = result.getLocations();
 			if(breakpoint.getSuspendPolicy() != consulo.execution.debug.breakpoint.SuspendPolicy.NONE)
 			{
+				EventRequestManager eventRequestManager = virtualMachine.eventRequestManager();
+				boolean enabled = breakpoint.isEnabled();
 				for(Location location : locations)
 				{
-					EventRequestManager eventRequestManager = virtualMachine.eventRequestManager();
 					BreakpointRequest breakpointRequest = eventRequestManager.createBreakpointRequest(location);
-					breakpointRequest.setEnabled(breakpoint.isEnabled());
+					if(enabled)
+					{
+						breakpointRequest.enable();
+					}
 
 					virtualMachine.putRequest(breakpoint, breakpointRequest);
 				}
@@ -251,28 +454,7 @@ public class MonoBreakpointUtil
 			return FindLocationResult.WRONG_TARGET;
 		}
 
-		final PsiFile file = AccessRule.read(() -> PsiManager.getInstance(project).findFile(targetVFile));
-
-		if(file == null)
-		{
-			return FindLocationResult.WRONG_TARGET;
-		}
-
-		final SimpleReference<DotNetDebuggerSourceLineResolver> resolverRef = SimpleReference.create();
-
-		final String vmQualifiedName = AccessRule.read(() ->
-		{
-			PsiElement psiElement = DotNetDebuggerUtil.findPsiElement(file, breakpointLine);
-			if(psiElement == null)
-			{
-				return null;
-			}
-			DotNetDebuggerSourceLineResolver resolver = DotNetDebuggerSourceLineResolver.forLanguage(file.getLanguage());
-			assert resolver != null;
-			resolverRef.set(resolver);
-			return resolver.resolveParentVmQName(psiElement);
-		});
-
+		final String vmQualifiedName = getVmQName(project, targetVFile, breakpointLine);
 		if(vmQualifiedName == null)
 		{
 			return FindLocationResult.WRONG_TARGET;
@@ -295,14 +477,17 @@ public class MonoBreakpointUtil
 
 		try
 		{
-			for(MethodMirror methodMirror : mirror.methods())
+			MonoMethodDebugInfoCache.LocationIndex locationIndex = virtualMachine.getDebugInfoCache().getLocationIndex(mirror);
+			for(MonoMethodDebugInfoCache.MethodLocation methodLocation : locationIndex.getLocations(targetVFile, breakpointLine + 1))
 			{
+				MethodMirror methodMirror = methodLocation.getMethod();
 				if(methods.containsKey(methodMirror))
 				{
 					continue;
 				}
 
-				if(executableChildrenAtLineIndex != null)
+				// methods of compiler generated nested types are always accepted
+				if(methodLocation.isDeclared() && executableChildrenAtLineIndex != null)
 				{
 					Couple<String> lambdaInfo = DotNetDebuggerCompilerGenerateUtil.extractLambdaInfo(new MonoMethodProxy(methodMirror));
 					if(executableChildrenAtLineIndex == -1 && lambdaInfo != null)
@@ -318,13 +503,14 @@ public class MonoBreakpointUtil
 							continue;
 						}
 
-						final Method_GetDebugInfo.Entry[] entries = methodMirror.debugInfo();
-						if(entries.length == 0)
+						final Method_GetDebugInfo.Entry[] entries = virtualMachine.getDebugInfoCache().getDebugInfo(methodMirror);
+						final VirtualFile sourceFile = methodLocation.getSourceFile();
+						if(entries.length == 0 || sourceFile == null)
 						{
 							continue;
 						}
 
-						boolean acceptable = AccessRule.read(() -> findExecutableElementFromDebugInfo(project, entries, executableChildrenAtLineIndex) != null);
+						boolean acceptable = AccessRule.read(() -> findExecutableElementFromDebugInfo(project, sourceFile, entries[0], executableChildrenAtLineIndex) != null);
 
 						if(!acceptable)
 						{
@@ -333,40 +519,7 @@ public class MonoBreakpointUtil
 					}
 				}
 
-				collectLocations(virtualMachine, breakpointLine, methods, methodMirror, targetVFile);
-			}
-
-			TypeMirror[] nestedTypeMirrors = mirror.nestedTypes();
-			for(TypeMirror nestedTypeMirror : nestedTypeMirrors)
-			{
-				MonoTypeProxy typeProxy = MonoTypeProxy.of(nestedTypeMirror);
-				if(DotNetDebuggerCompilerGenerateUtil.isYieldOrAsyncNestedType(typeProxy))
-				{
-					// we interest only MoveNext method
-					MethodMirror moveNext = nestedTypeMirror.findMethodByName("MoveNext", false);
-					if(moveNext != null)
-					{
-						collectLocations(virtualMachine, breakpointLine, methods, moveNext, targetVFile);
-					}
-				}
-				else if(DotNetDebuggerCompilerGenerateUtil.isAsyncLambdaWrapper(typeProxy))
-				{
-					TypeMirror[] typeMirrors = nestedTypeMirror.nestedTypes();
-					if(typeMirrors.length > 0)
-					{
-						MethodMirror moveNext = typeMirrors[0].findMethodByName("MoveNext", false);
-
-						if(moveNext != null)
-						{
-							collectLocations(virtualMachine, breakpointLine, methods, moveNext, targetVFile);
-						}
-					}
-
-					for(MethodMirror nestedMetohdMirror : nestedTypeMirror.methods())
-					{
-						collectLocations(virtualMachine, breakpointLine, methods, nestedMetohdMirror, targetVFile);
-					}
-				}
+				methods.put(methodMirror, methodLocation.getLocation());
 			}
 		}
 		catch(UnloadedElementException e)
@@ -391,8 +544,13 @@ public class MonoBreakpointUtil
 		{
 			return null;
 		}
+		return findExecutableElementFromDebugInfo(project, fileByPath, entry, index);
+	}
 
-		PsiFile otherPsiFile = PsiManager.getInstance(project).findFile(fileByPath);
+	@RequiredReadAction
+	private static PsiElement findExecutableElementFromDebugInfo(Project project, VirtualFile sourceFile, Method_GetDebugInfo.Entry entry, int index)
+	{
+		PsiFile otherPsiFile = PsiManager.getInstance(project).findFile(sourceFile);
 		if(otherPsiFile == null)
 		{
 			return null;
@@ -421,31 +579,4 @@ public class MonoBreakpointUtil
 
 		return PsiTreeUtil.isAncestor(executableTarget, psiElement, true) ? executableTarget : null;
 	}
-
-	private static void collectLocations(MonoVirtualMachineProxy virtualMachine, int breakpointLine, Map<MethodMirror, Location> methods, MethodMirror methodMirror, VirtualFile targetVFile)
-	{
-		IntSet registeredLines = IntSets.newHashSet();
-		for(Method_GetDebugInfo.Entry entry : methodMirror.debugInfo())
-		{
-			if(entry.line == (breakpointLine + 1))
-			{
-				if(!registeredLines.add(entry.line))
-				{
-					continue;
-				}
-
-				Method_GetDebugInfo.SourceFile sourceFile = entry.sourceFile;
-				if(sourceFile != null && sourceFile.name != null)
-				{
-					VirtualFile sourceVFile = LocalFileSystem.getInstance().findFileByPath(sourceFile.name);
-					if(sourceVFile != null && !sourceVFile.equals(targetVFile))
-					{
-						continue;
-					}
-				}
-
-				methods.put(methodMirror, new LocationImpl(virtualMachine.getDelegate(), methodMirror, entry.offset));
-			}
-		}
-	}
 }
@@ -31,7 +31,12 @@ public class MonoArrayValueProxy extends MonoValueProxyBase<ArrayValueMirror> im
 {
 	public MonoArrayValueProxy(ArrayValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoArrayValueProxy(ArrayValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Override
@@ -56,7 +61,7 @@ public class MonoArrayValueProxy extends MonoValueProxyBase<ArrayValueMirror> im
 	@Override
 	public DotNetValueProxy get(int index)
 	{
-		return MonoValueProxyUtil.wrap(myValue.get(index));
+		return MonoValueProxyUtil.wrap(myValue.get(index), myVirtualMachineProxy);
 	}
 
 	@Override
@@ -17,6 +17,7 @@
 package consulo.dotnet.mono.debugger.proxy;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import consulo.dotnet.debugger.proxy.value.DotNetBooleanValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
@@ -30,7 +31,12 @@ public class MonoBooleanValueProxy extends MonoValueProxyBase<BooleanValueMirror
 {
 	public MonoBooleanValueProxy(BooleanValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoBooleanValueProxy(BooleanValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
@@ -17,6 +17,7 @@
 package consulo.dotnet.mono.debugger.proxy;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import consulo.dotnet.debugger.proxy.value.DotNetCharValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
 import mono.debugger.CharValueMirror;
@@ -29,7 +30,12 @@ public class MonoCharValueProxy extends MonoValueProxyBase<CharValueMirror> impl
 {
 	public MonoCharValueProxy(CharValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoCharValueProxy(CharValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
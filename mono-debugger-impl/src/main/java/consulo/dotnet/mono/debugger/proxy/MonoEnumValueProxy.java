@@ -17,6 +17,7 @@
 package consulo.dotnet.mono.debugger.proxy;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import consulo.dotnet.debugger.proxy.value.DotNetEnumValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
 import mono.debugger.EnumValueMirror;
@@ -29,14 +30,19 @@ public class MonoEnumValueProxy extends MonoValueProxyBase<EnumValueMirror> impl
 {
 	public MonoEnumValueProxy(EnumValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoEnumValueProxy(EnumValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
 	@Override
 	public Object getValue()
 	{
-		return MonoValueProxyUtil.wrap(myValue.value());
+		return MonoValueProxyUtil.wrap(myValue.value(), myVirtualMachineProxy);
 	}
 
 	@Override
@@ -57,7 +57,8 @@ public class MonoFieldProxy extends MonoVariableProxyBase<FieldMirror> implement
 		{
 			MonoThreadProxy monoThreadProxy = (MonoThreadProxy) frameProxy.getThread();
 			MonoValueProxyBase<?> monoValueProxyBase = (MonoValueProxyBase<?>) proxy;
-			return MonoValueProxyUtil.wrap(myMirror.value(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : (ObjectValueMirror) monoValueProxyBase.getMirror()));
+			return MonoValueProxyUtil.wrap(myMirror.value(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : (ObjectValueMirror) monoValueProxyBase.getMirror()),
+					monoThreadProxy.getVirtualMachineProxy());
 		}
 		catch(ThrowValueException e)
 		{
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.dotnet.mono.debugger.proxy;
+
+import consulo.dotnet.debugger.impl.nodes.DotNetDebuggerCompilerGenerateUtil;
+import consulo.virtualFileSystem.LocalFileSystem;
+import consulo.virtualFileSystem.VirtualFile;
+import mono.debugger.Location;
+import mono.debugger.LocationImpl;
+import mono.debugger.MethodMirror;
+import mono.debugger.TypeMirror;
+import mono.debugger.VirtualMachine;
+import mono.debugger.protocol.Method_GetDebugInfo;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per vm cache of method line tables, and of (source file, line) -> location indexes of types.
+ * Debug info can't change while method is loaded, cache is dropped on app domain unload
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonoMethodDebugInfoCache
+{
+	public static class LineTable
+	{
+		private final Method_GetDebugInfo.Entry[] myEntries;
+		private final Map<Integer, Method_GetDebugInfo.Entry> myEntryByLine;
+		private final Map<Integer, Location> myLocationByLine;
+
+		private LineTable(@Nonnull VirtualMachine virtualMachine, @Nonnull MethodMirror methodMirror, @Nonnull Method_GetDebugInfo.Entry[] entries)
+		{
+			myEntries = entries;
+			myEntryByLine = new LinkedHashMap<>(entries.length);
+			myLocationByLine = new HashMap<>(entries.length);
+
+			for(Method_GetDebugInfo.Entry entry : entries)
+			{
+				// only first entry of line is breakpoint target
+				if(myEntryByLine.putIfAbsent(entry.line, entry) == null)
+				{
+					myLocationByLine.put(entry.line, new LocationImpl(virtualMachine, methodMirror, entry.offset));
+				}
+			}
+		}
+
+		@Nonnull
+		public Method_GetDebugInfo.Entry[] getEntries()
+		{
+			return myEntries;
+		}
+
+		/**
+		 * @param line one-based line
+		 */
+		@Nullable
+		public Method_GetDebugInfo.Entry getEntry(int line)
+		{
+			return myEntryByLine.get(line);
+		}
+
+		/**
+		 * @param line one-based line
+		 */
+		@Nullable
+		public Location getLocation(int line)
+		{
+			return myLocationByLine.get(line);
+		}
+	}
+
+	/**
+	 * Method of type with its location at line
+	 */
+	public static class MethodLocation
+	{
+		private final MethodMirror myMethod;
+		private final Location myLocation;
+		private final boolean myDeclared;
+		private final VirtualFile mySourceFile;
+
+		private MethodLocation(@Nonnull MethodMirror method, @Nonnull Location location, boolean declared, @Nullable VirtualFile sourceFile)
+		{
+			myMethod = method;
+			myLocation = location;
+			myDeclared = declared;
+			mySourceFile = sourceFile;
+		}
+
+		@Nonnull
+		public MethodMirror getMethod()
+		{
+			return myMethod;
+		}
+
+		@Nonnull
+		public Location getLocation()
+		{
+			return myLocation;
+		}
+
+		/**
+		 * @return true if method is declared by type itself, false if it's from compiler generated nested type (yield, async)
+		 */
+		public boolean isDeclared()
+		{
+			return myDeclared;
+		}
+
+		/**
+		 * @return source file of first debug info entry of method
+		 */
+		@Nullable
+		public VirtualFile getSourceFile()
+		{
+			return mySourceFile;
+		}
+	}
+
+	/**
+	 * Locations of type by source file and one-based line. Debug info entries without resolvable source file are stored with null file, and match any file
+	 */
+	public static class LocationIndex
+	{
+		private final Map<VirtualFile, Map<Integer, List<MethodLocation>>> myLocations = new HashMap<>();
+
+		private void add(@Nullable VirtualFile file, int line, @Nonnull MethodLocation location)
+		{
+			myLocations.computeIfAbsent(file, it -> new HashMap<>()).computeIfAbsent(line, it -> new ArrayList<>()).add(location);
+		}
+
+		/**
+		 * @param line one-based line
+		 */
+		@Nonnull
+		public List<MethodLocation> getLocations(@Nonnull VirtualFile file, int line)
+		{
+			List<MethodLocation> fileLocations = getLocations(myLocations.get(file), line);
+			List<MethodLocation> anyFileLocations = getLocations(myLocations.get(null), line);
+			if(anyFileLocations.isEmpty())
+			{
+				return fileLocations;
+			}
+
+			List<MethodLocation> locations = new ArrayList<>(fileLocations.size() + anyFileLocations.size());
+			locations.addAll(fileLocations);
+			locations.addAll(anyFileLocations);
+			return locations;
+		}
+
+		@Nonnull
+		private static List<MethodLocation> getLocations(@Nullable Map<Integer, List<MethodLocation>> lines, int line)
+		{
+			List<MethodLocation> locations = lines == null ? null : lines.get(line);
+			return locations == null ? Collections.emptyList() : locations;
+		}
+	}
+
+	private final VirtualMachine myVirtualMachine;
+	private final MonoTypeMetadataCache myTypeMetadataCache;
+	private final Map<Integer, LineTable> myLineTables = new ConcurrentHashMap<>();
+	private final Map<Integer, LocationIndex> myLocationIndexes = new ConcurrentHashMap<>();
+
+	MonoMethodDebugInfoCache(@Nonnull VirtualMachine virtualMachine, @Nonnull MonoTypeMetadataCache typeMetadataCache)
+	{
+		myVirtualMachine = virtualMachine;
+		myTypeMetadataCache = typeMetadataCache;
+	}
+
+	@Nonnull
+	public LineTable getLineTable(@Nonnull MethodMirror methodMirror)
+	{
+		LineTable lineTable = myLineTables.get(methodMirror.id());
+		if(lineTable != null)
+		{
+			return lineTable;
+		}
+
+		// debug info is fetched outside of map, other methods are not blocked by it
+		lineTable = new LineTable(myVirtualMachine, methodMirror, methodMirror.debugInfo());
+		LineTable oldLineTable = myLineTables.putIfAbsent(methodMirror.id(), lineTable);
+		return oldLineTable != null ? oldLineTable : lineTable;
+	}
+
+	@Nonnull
+	public Method_GetDebugInfo.Entry[] getDebugInfo(@Nonnull MethodMirror methodMirror)
+	{
+		return getLineTable(methodMirror).getEntries();
+	}
+
+	/**
+	 * Returns index of all breakpoint locations of type: its methods, and MoveNext of compiler generated nested types (yield, async).
+	 * Built once per type, by one walk of methods and nested types
+	 */
+	@Nonnull
+	public LocationIndex getLocationIndex(@Nonnull TypeMirror typeMirror)
+	{
+		LocationIndex locationIndex = myLocationIndexes.get(typeMirror.id());
+		if(locationIndex != null)
+		{
+			return locationIndex;
+		}
+
+		locationIndex = buildLocationIndex(typeMirror);
+		LocationIndex oldLocationIndex = myLocationIndexes.putIfAbsent(typeMirror.id(), locationIndex);
+		return oldLocationIndex != null ? oldLocationIndex : locationIndex;
+	}
+
+	public void clear()
+	{
+		myLineTables.clear();
+		myLocationIndexes.clear();
+	}
+
+	@Nonnull
+	private LocationIndex buildLocationIndex(@Nonnull TypeMirror typeMirror)
+	{
+		LocationIndex locationIndex = new LocationIndex();
+		// source file path -> file, null if file not found
+		Map<String, VirtualFile> files = new HashMap<>();
+
+		for(MethodMirror methodMirror : typeMirror.methods())
+		{
+			addMethod(locationIndex, methodMirror, true, files);
+		}
+
+		for(TypeMirror nestedTypeMirror : typeMirror.nestedTypes())
+		{
+			MonoTypeProxy typeProxy = MonoTypeProxy.of(nestedTypeMirror, myTypeMetadataCache);
+			if(DotNetDebuggerCompilerGenerateUtil.isYieldOrAsyncNestedType(typeProxy))
+			{
+				// we interest only MoveNext method
+				MethodMirror moveNext = nestedTypeMirror.findMethodByName("MoveNext", false);
+				if(moveNext != null)
+				{
+					addMethod(locationIndex, moveNext, false, files);
+				}
+			}
+			else if(DotNetDebuggerCompilerGenerateUtil.isAsyncLambdaWrapper(typeProxy))
+			{
+				TypeMirror[] typeMirrors = nestedTypeMirror.nestedTypes();
+				if(typeMirrors.length > 0)
+				{
+					MethodMirror moveNext = typeMirrors[0].findMethodByName("MoveNext", false);
+					if(moveNext != null)
+					{
+						addMethod(locationIndex, moveNext, false, files);
+					}
+				}
+
+				for(MethodMirror nestedMethodMirror : nestedTypeMirror.methods())
+				{
+					addMethod(locationIndex, nestedMethodMirror, false, files);
+				}
+			}
+		}
+		return locationIndex;
+	}
+
+	private void addMethod(@Nonnull LocationIndex locationIndex, @Nonnull MethodMirror methodMirror, boolean declared, @Nonnull Map<String, VirtualFile> files)
+	{
+		LineTable lineTable = getLineTable(methodMirror);
+
+		Method_GetDebugInfo.Entry[] entries = lineTable.getEntries();
+		VirtualFile methodSourceFile = entries.length == 0 ? null : findSourceFile(entries[0], files);
+
+		for(Map.Entry<Integer, Method_GetDebugInfo.Entry> entry : lineTable.myEntryByLine.entrySet())
+		{
+			int line = entry.getKey();
+			MethodLocation methodLocation = new MethodLocation(methodMirror, lineTable.getLocation(line), declared, methodSourceFile);
+			locationIndex.add(findSourceFile(entry.getValue(), files), line, methodLocation);
+		}
+	}
+
+	@Nullable
+	private static VirtualFile findSourceFile(@Nonnull Method_GetDebugInfo.Entry entry, @Nonnull Map<String, VirtualFile> files)
+	{
+		Method_GetDebugInfo.SourceFile sourceFile = entry.sourceFile;
+		if(sourceFile == null || sourceFile.name == null)
+		{
+			return null;
+		}
+
+		if(files.containsKey(sourceFile.name))
+		{
+			return files.get(sourceFile.name);
+		}
+
+		VirtualFile file = LocalFileSystem.getInstance().findFileByPath(sourceFile.name);
+		files.put(sourceFile.name, file);
+		return file;
+	}
+}
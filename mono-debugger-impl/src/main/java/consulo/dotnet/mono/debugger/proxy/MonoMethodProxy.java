@@ -119,7 +119,8 @@ public class MonoMethodProxy implements DotNetMethodProxy
 												   @Nullable DotNetValueProxy thisObjectProxy,
 												   @Nonnull DotNetValueProxy... arguments) throws DotNetThrowValueException, DotNetNotSuspendedException
 	{
-		ThreadMirror thread = ((MonoThreadProxy) frameProxy.getThread()).getThreadMirror();
+		MonoThreadProxy threadProxy = (MonoThreadProxy) frameProxy.getThread();
+		ThreadMirror thread = threadProxy.getThreadMirror();
 		Value<?> thisObject = thisObjectProxy == null ? null : ((MonoValueProxyBase) thisObjectProxy).getMirror();
 
 		Value[] values = new Value[arguments.length];
@@ -131,7 +132,8 @@ public class MonoMethodProxy implements DotNetMethodProxy
 		try
 		{
 			InvokeResult result = myMethodMirror.invokeNew(thread, InvokeFlags.pack(InvokeFlags.DISABLE_BREAKPOINTS, InvokeFlags.OUT_THIS), thisObject, values);
-			return new DotNetMethodInvokeResult(MonoValueProxyUtil.wrap(result.getValue()), MonoValueProxyUtil.wrap(result.getOutThis()));
+			MonoVirtualMachineProxy virtualMachineProxy = threadProxy.getVirtualMachineProxy();
+			return new DotNetMethodInvokeResult(MonoValueProxyUtil.wrap(result.getValue(), virtualMachineProxy), MonoValueProxyUtil.wrap(result.getOutThis(), virtualMachineProxy));
 		}
 		catch(NotSuspendedException e)
 		{
@@ -139,7 +141,12 @@ public class MonoMethodProxy implements DotNetMethodProxy
 		}
 		catch(ThrowValueException e)
 		{
-			throw new DotNetThrowValueException(frameProxy, MonoValueProxyUtil.wrap(e.getThrowExceptionValue()));
+			throw new DotNetThrowValueException(frameProxy, MonoValueProxyUtil.wrap(e.getThrowExceptionValue(), threadProxy.getVirtualMachineProxy()));
+		}
+		finally
+		{
+			// invoke resumes thread - frames are invalid after it
+			threadProxy.getVirtualMachineProxy().invalidateFrames();
 		}
 	}
 
@@ -20,6 +20,8 @@ import consulo.dotnet.debugger.proxy.value.DotNetNullValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
 import mono.debugger.NoObjectValueMirror;
 
+import jakarta.annotation.Nullable;
+
 /**
  * @author VISTALL
  * @since 18.04.2016
@@ -28,7 +30,12 @@ public class MonoNullValueProxy extends MonoValueProxyBase<NoObjectValueMirror>
 {
 	public MonoNullValueProxy(NoObjectValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoNullValueProxy(NoObjectValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Override
@@ -17,6 +17,7 @@
 package consulo.dotnet.mono.debugger.proxy;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import consulo.dotnet.debugger.proxy.value.DotNetNumberValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
@@ -30,7 +31,12 @@ public class MonoNumberValueProxy extends MonoValueProxyBase<NumberValueMirror>
 {
 	public MonoNumberValueProxy(NumberValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoNumberValueProxy(NumberValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
@@ -20,6 +20,8 @@ import consulo.dotnet.debugger.proxy.value.DotNetObjectValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxyVisitor;
 import mono.debugger.ObjectValueMirror;
 
+import jakarta.annotation.Nullable;
+
 /**
  * @author VISTALL
  * @since 18.04.2016
@@ -28,7 +30,12 @@ public class MonoObjectValueProxy extends MonoValueProxyBase<ObjectValueMirror>
 {
 	public MonoObjectValueProxy(ObjectValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoObjectValueProxy(ObjectValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Override
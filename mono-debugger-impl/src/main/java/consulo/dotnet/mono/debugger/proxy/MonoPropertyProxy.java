@@ -49,16 +49,22 @@ public class MonoPropertyProxy extends MonoVariableProxyBase<PropertyMirror> imp
 	@Override
 	public DotNetValueProxy getValue(@Nonnull DotNetStackFrameProxy frameProxy, @Nullable DotNetValueProxy proxy)
 	{
+		MonoThreadProxy monoThreadProxy = (MonoThreadProxy) frameProxy.getThread();
 		try
 		{
-			MonoThreadProxy monoThreadProxy = (MonoThreadProxy) frameProxy.getThread();
 			MonoValueProxyBase<?> monoValueProxyBase = (MonoValueProxyBase<?>) proxy;
-			return MonoValueProxyUtil.wrap(myMirror.value(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : (ObjectValueMirror) monoValueProxyBase.getMirror()));
+			return MonoValueProxyUtil.wrap(myMirror.value(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : (ObjectValueMirror) monoValueProxyBase.getMirror()),
+					monoThreadProxy.getVirtualMachineProxy());
 		}
 		catch(ThrowValueException e)
 		{
 			throw new DotNetThrowValueException(frameProxy, MonoValueProxyUtil.wrap(e.getThrowExceptionValue()));
 		}
+		finally
+		{
+			// getter invoke resumes thread - frames are invalid after it
+			monoThreadProxy.getVirtualMachineProxy().invalidateFrames();
+		}
 	}
 
 	@Override
@@ -68,7 +74,14 @@ public class MonoPropertyProxy extends MonoVariableProxyBase<PropertyMirror> imp
 		MonoObjectValueProxy monoValueProxyBase = (MonoObjectValueProxy) proxy;
 		MonoValueProxyBase<?> monoNewValueProxyBase = (MonoValueProxyBase<?>) newValueProxy;
 
-		myMirror.setValue(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : monoValueProxyBase.getMirror(), monoNewValueProxyBase.getMirror());
+		try
+		{
+			myMirror.setValue(monoThreadProxy.getThreadMirror(), monoValueProxyBase == null ? null : monoValueProxyBase.getMirror(), monoNewValueProxyBase.getMirror());
+		}
+		finally
+		{
+			monoThreadProxy.getVirtualMachineProxy().invalidateFrames();
+		}
 	}
 
 	@Override
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.dotnet.mono.debugger.proxy;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Source path -> values loaded from vm for it (types declared in file). Loaded values are not unloaded without app domain,
+ * so value found in cache is valid. If nothing matches, values are loaded again - new ones can be loaded after cache was filled.
+ * So type load does not need to drop cache
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+class MonoSourcePathCache<T>
+{
+	private final Map<String, List<T>> myValues = new ConcurrentHashMap<>();
+	private final Function<String, List<T>> myLoader;
+
+	MonoSourcePathCache(@Nonnull Function<String, List<T>> loader)
+	{
+		myLoader = loader;
+	}
+
+	/**
+	 * @return values of path accepted by filter, loaded from vm only if cached values have no one
+	 */
+	@Nonnull
+	List<T> find(@Nonnull String path, @Nonnull Predicate<T> filter)
+	{
+		List<T> values = myValues.get(path);
+		if(values != null)
+		{
+			List<T> result = filter(values, filter);
+			if(!result.isEmpty())
+			{
+				return result;
+			}
+		}
+
+		// loaded outside of map, lookups of other paths are not blocked by vm call
+		values = myLoader.apply(path);
+		myValues.put(path, values);
+		return filter(values, filter);
+	}
+
+	void clear()
+	{
+		myValues.clear();
+	}
+
+	@Nonnull
+	private static <T> List<T> filter(@Nonnull List<T> values, @Nonnull Predicate<T> filter)
+	{
+		List<T> result = null;
+		for(T value : values)
+		{
+			if(filter.test(value))
+			{
+				if(result == null)
+				{
+					result = new ArrayList<>();
+				}
+				result.add(value);
+			}
+		}
+		return result == null ? Collections.emptyList() : result;
+	}
+}
@@ -16,7 +16,9 @@
 
 package consulo.dotnet.mono.debugger.proxy;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -34,6 +36,10 @@ import consulo.dotnet.debugger.proxy.value.DotNetValueProxy;
 import mono.debugger.AbsentInformationException;
 import mono.debugger.InvalidObjectException;
 import mono.debugger.InvalidStackFrameException;
+import mono.debugger.LocalVariableMirror;
+import mono.debugger.LocalVariableOrParameterMirror;
+import mono.debugger.MethodMirror;
+import mono.debugger.MethodParameterMirror;
 import mono.debugger.StackFrameMirror;
 import mono.debugger.ThrowValueException;
 import mono.debugger.VMDisconnectedException;
@@ -73,7 +79,7 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 	{
 		try
 		{
-			return MonoValueProxyUtil.wrap(getRefreshedFrame().thisObject());
+			return MonoValueProxyUtil.wrap(getRefreshedFrame().thisObject(), myVirtualMachineProxy);
 		}
 		catch(VMDisconnectedException e)
 		{
@@ -100,11 +106,11 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 		try
 		{
 			MonoMethodParameterProxy proxy = (MonoMethodParameterProxy) parameterProxy;
-			return MonoValueProxyUtil.wrap(getRefreshedFrame().localOrParameterValue(proxy.getParameter()));
+			return MonoValueProxyUtil.wrap(getLocalOrParameterValue(proxy.getParameter()), myVirtualMachineProxy);
 		}
 		catch(ThrowValueException e)
 		{
-			throw new DotNetThrowValueException(this, MonoValueProxyUtil.wrap(e.getThrowExceptionValue()));
+			throw new DotNetThrowValueException(this, MonoValueProxyUtil.wrap(e.getThrowExceptionValue(), myVirtualMachineProxy));
 		}
 	}
 
@@ -117,6 +123,8 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 		Value value = ((MonoValueProxyBase) valueProxy).getMirror();
 
 		getRefreshedFrame().setLocalOrParameterValues(new ImmutablePair<>(proxy.getParameter(), value));
+
+		myVirtualMachineProxy.dropFrameValues(myFrameMirror.thread(), myIndex);
 	}
 
 	@Nullable
@@ -126,11 +134,11 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 		try
 		{
 			MonoLocalVariableProxy proxy = (MonoLocalVariableProxy) localVariableProxy;
-			return MonoValueProxyUtil.wrap(getRefreshedFrame().localOrParameterValue(proxy.getMirror()));
+			return MonoValueProxyUtil.wrap(getLocalOrParameterValue(proxy.getMirror()), myVirtualMachineProxy);
 		}
 		catch(ThrowValueException e)
 		{
-			throw new DotNetThrowValueException(this, MonoValueProxyUtil.wrap(e.getThrowExceptionValue()));
+			throw new DotNetThrowValueException(this, MonoValueProxyUtil.wrap(e.getThrowExceptionValue(), myVirtualMachineProxy));
 		}
 	}
 
@@ -143,6 +151,8 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 		Value value = ((MonoValueProxyBase) valueProxy).getMirror();
 
 		getRefreshedFrame().setLocalOrParameterValues(new ImmutablePair<>(proxy.getMirror(), value));
+
+		myVirtualMachineProxy.dropFrameValues(myFrameMirror.thread(), myIndex);
 	}
 
 	@Nonnull
@@ -172,12 +182,92 @@ public class MonoStackFrameProxy implements DotNetStackFrameProxy
 		return new MonoSourceLocation(getRefreshedFrame().location());
 	}
 
+	/**
+	 * Returns values of all locals (visible at current code index) and parameters of frame, by {@link #getValueKey}. Values fetched by one request, and cached until resume
+	 */
+	@Nonnull
+	private Map<Long, Value<?>> getLocalAndParameterValues()
+	{
+		return myVirtualMachineProxy.getFrameValues(myFrameMirror.thread(), myIndex, this::fetchLocalAndParameterValues);
+	}
+
+	@Nullable
+	private Value<?> getLocalOrParameterValue(@Nonnull LocalVariableMirror mirror)
+	{
+		Map<Long, Value<?>> values = getLocalAndParameterValues();
+		Long key = getValueKey(mirror.id(), false);
+		if(values.containsKey(key))
+		{
+			return values.get(key);
+		}
+		return getRefreshedFrame().localOrParameterValue(mirror);
+	}
+
+	@Nullable
+	private Value<?> getLocalOrParameterValue(@Nonnull MethodParameterMirror mirror)
+	{
+		Map<Long, Value<?>> values = getLocalAndParameterValues();
+		Long key = getValueKey(mirror.id(), true);
+		if(values.containsKey(key))
+		{
+			return values.get(key);
+		}
+		return getRefreshedFrame().localOrParameterValue(mirror);
+	}
+
+	/**
+	 * Mirrors are created by each locals()/parameters() call, and not comparable - values are keyed by id. Ids of locals and parameters can intersect
+	 */
+	private static long getValueKey(int id, boolean parameter)
+	{
+		return ((long) id << 1) | (parameter ? 1 : 0);
+	}
+
+	@Nonnull
+	private Map<Long, Value<?>> fetchLocalAndParameterValues()
+	{
+		try
+		{
+			StackFrameMirror frame = getRefreshedFrame();
+			MethodMirror method = frame.location().method();
+
+			LocalVariableMirror[] locals = method.locals(frame.location().codeIndex());
+			MethodParameterMirror[] parameters = method.parameters();
+
+			LocalVariableOrParameterMirror[] mirrors = new LocalVariableOrParameterMirror[locals.length + parameters.length];
+			System.arraycopy(locals, 0, mirrors, 0, locals.length);
+			System.arraycopy(parameters, 0, mirrors, locals.length, parameters.length);
+			if(mirrors.length == 0)
+			{
+				return Map.of();
+			}
+
+			Value[] values = frame.localOrParameterValues(mirrors);
+
+			Map<Long, Value<?>> map = new HashMap<>(mirrors.length);
+			for(int i = 0; i < locals.length; i++)
+			{
+				map.put(getValueKey(locals[i].id(), false), values[i]);
+			}
+			for(int i = 0; i < parameters.length; i++)
+			{
+				map.put(getValueKey(parameters[i].id(), true), values[locals.length + i]);
+			}
+			return map;
+		}
+		catch(ThrowValueException | InvalidStackFrameException e)
+		{
+			// bulk fetch failed - values will be requested one by one
+			return Map.of();
+		}
+	}
+
 	@Nonnull
 	private StackFrameMirror getRefreshedFrame()
 	{
 		try
 		{
-			List<StackFrameMirror> frames = myFrameMirror.thread().frames();
+			List<StackFrameMirror> frames = myVirtualMachineProxy.getFrames(myFrameMirror.thread());
 			return frames.get(myIndex);
 		}
 		catch(Exception e)
@@ -17,6 +17,7 @@
 package consulo.dotnet.mono.debugger.proxy;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import consulo.dotnet.debugger.proxy.value.DotNetStringValueProxy;
 import consulo.dotnet.debugger.proxy.value.DotNetValueProxy;
@@ -31,7 +32,12 @@ public class MonoStringValueProxy extends MonoValueProxyBase<StringValueMirror>
 {
 	public MonoStringValueProxy(StringValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoStringValueProxy(StringValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
@@ -45,7 +51,7 @@ public class MonoStringValueProxy extends MonoValueProxyBase<StringValueMirror>
 	@Override
 	public DotNetValueProxy getObjectValue()
 	{
-		return MonoValueProxyUtil.wrap(myValue.object());
+		return MonoValueProxyUtil.wrap(myValue.object(), myVirtualMachineProxy);
 	}
 
 	@Override
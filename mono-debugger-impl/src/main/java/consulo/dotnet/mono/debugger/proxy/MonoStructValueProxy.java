@@ -24,6 +24,7 @@ import consulo.util.collection.ContainerUtil;
 import mono.debugger.*;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -37,7 +38,12 @@ public class MonoStructValueProxy extends MonoValueProxyBase<StructValueMirror>
 {
 	public MonoStructValueProxy(StructValueMirror value)
 	{
-		super(value);
+		this(value, null);
+	}
+
+	MonoStructValueProxy(StructValueMirror value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
+	{
+		super(value, virtualMachineProxy);
 	}
 
 	@Nonnull
@@ -47,7 +53,7 @@ public class MonoStructValueProxy extends MonoValueProxyBase<StructValueMirror>
 		Collection<DotNetValueProxy> proxies = map.values();
 		List<Value> values = ContainerUtil.map(proxies, proxy -> ((MonoValueProxyBase) proxy).getMirror());
 
-		return new MonoStructValueProxy(new StructValueMirror(myValue.virtualMachine(), myValue.type(), values.toArray(new Value[values.size()])));
+		return new MonoStructValueProxy(new StructValueMirror(myValue.virtualMachine(), myValue.type(), values.toArray(new Value[values.size()])), myVirtualMachineProxy);
 	}
 
 	@Nonnull
@@ -69,7 +75,7 @@ public class MonoStructValueProxy extends MonoValueProxyBase<StructValueMirror>
 			{
 				proxy = new MonoPropertyProxy((PropertyMirror) key);
 			}
-			proxyMap.put(proxy, MonoValueProxyUtil.wrap(entry.getValue()));
+			proxyMap.put(proxy, MonoValueProxyUtil.wrap(entry.getValue(), myVirtualMachineProxy));
 		}
 		return proxyMap;
 	}
@@ -54,6 +54,12 @@ public class MonoThreadProxy extends DotNetThreadProxy
 		return myThreadMirror;
 	}
 
+	@Nonnull
+	public MonoVirtualMachineProxy getVirtualMachineProxy()
+	{
+		return myVirtualMachineProxy;
+	}
+
 	public static long getIdFromThread(MonoVirtualMachineProxy proxy, ThreadMirror mirror)
 	{
 		if(proxy.isSupportSystemThreadId())
@@ -99,7 +105,7 @@ public class MonoThreadProxy extends DotNetThreadProxy
 	{
 		try
 		{
-			List<StackFrameMirror> frames = myThreadMirror.frames();
+			List<StackFrameMirror> frames = myVirtualMachineProxy.getFrames(myThreadMirror);
 			List<DotNetStackFrameProxy> proxies = new ArrayList<>(frames.size());
 			for(int i = 0; i < frames.size(); i++)
 			{
@@ -120,7 +126,7 @@ public class MonoThreadProxy extends DotNetThreadProxy
 	{
 		try
 		{
-			List<StackFrameMirror> frames = myThreadMirror.frames();
+			List<StackFrameMirror> frames = myVirtualMachineProxy.getFrames(myThreadMirror);
 
 			StackFrameMirror frameMirror = ArrayUtil2.safeGet(frames, index);
 			if(frameMirror != null)
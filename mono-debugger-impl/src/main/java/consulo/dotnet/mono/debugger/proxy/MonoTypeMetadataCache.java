@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.dotnet.mono.debugger.proxy;
+
+import consulo.application.util.NotNullLazyValue;
+import consulo.application.util.NullableLazyValue;
+import consulo.dotnet.debugger.proxy.DotNetFieldProxy;
+import consulo.dotnet.debugger.proxy.DotNetMethodProxy;
+import consulo.dotnet.debugger.proxy.DotNetPropertyProxy;
+import consulo.dotnet.debugger.proxy.DotNetTypeProxy;
+import mono.debugger.*;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session cache of type metadata (members, interfaces, base type, attributes) keyed by type id.
+ * Metadata can't change while type is loaded, cache is dropped on app domain unload. Owned by {@link MonoVirtualMachineProxy}
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonoTypeMetadataCache
+{
+	static class TypeMetadata
+	{
+		private final NotNullLazyValue<DotNetFieldProxy[]> myFields;
+		private final NotNullLazyValue<DotNetPropertyProxy[]> myProperties;
+		private final NotNullLazyValue<DotNetMethodProxy[]> myMethods;
+		private final NotNullLazyValue<DotNetTypeProxy[]> myInterfaces;
+		private final NullableLazyValue<DotNetTypeProxy> myBaseType;
+		private final NotNullLazyValue<Set<String>> myAttributeNames;
+
+		TypeMetadata(@Nonnull TypeMirror typeMirror, @Nullable MonoTypeMetadataCache cache)
+		{
+			myFields = NotNullLazyValue.createValue(() -> buildFields(typeMirror));
+			myProperties = NotNullLazyValue.createValue(() -> buildProperties(typeMirror));
+			myMethods = NotNullLazyValue.createValue(() -> buildMethods(typeMirror));
+			myInterfaces = NotNullLazyValue.createValue(() -> buildInterfaces(typeMirror, cache));
+			myBaseType = NullableLazyValue.of(() -> MonoTypeProxy.of(typeMirror.baseType(), cache));
+			myAttributeNames = NotNullLazyValue.createValue(() -> buildAttributeNames(typeMirror));
+		}
+
+		// arrays are shared by all proxies of type, callers get copies
+		@Nonnull
+		DotNetFieldProxy[] getFields()
+		{
+			return myFields.getValue().clone();
+		}
+
+		@Nonnull
+		DotNetPropertyProxy[] getProperties()
+		{
+			return myProperties.getValue().clone();
+		}
+
+		@Nonnull
+		DotNetMethodProxy[] getMethods()
+		{
+			return myMethods.getValue().clone();
+		}
+
+		@Nonnull
+		DotNetTypeProxy[] getInterfaces()
+		{
+			return myInterfaces.getValue().clone();
+		}
+
+		@Nullable
+		DotNetTypeProxy getBaseType()
+		{
+			return myBaseType.getValue();
+		}
+
+		@Nonnull
+		Set<String> getAttributeNames()
+		{
+			return myAttributeNames.getValue();
+		}
+	}
+
+	private final Map<Integer, TypeMetadata> myMetadata = new ConcurrentHashMap<>();
+
+	@Nonnull
+	TypeMetadata getMetadata(@Nonnull TypeMirror typeMirror)
+	{
+		// metadata values are lazy, creation is cheap
+		return myMetadata.computeIfAbsent(typeMirror.id(), id -> new TypeMetadata(typeMirror, this));
+	}
+
+	public void clear()
+	{
+		myMetadata.clear();
+	}
+
+	@Nonnull
+	private static DotNetFieldProxy[] buildFields(@Nonnull TypeMirror typeMirror)
+	{
+		FieldMirror[] fields = typeMirror.fields();
+		DotNetFieldProxy[] proxies = new DotNetFieldProxy[fields.length];
+		for(int i = 0; i < fields.length; i++)
+		{
+			proxies[i] = new MonoFieldProxy(fields[i]);
+		}
+		return proxies;
+	}
+
+	@Nonnull
+	private static DotNetPropertyProxy[] buildProperties(@Nonnull TypeMirror typeMirror)
+	{
+		PropertyMirror[] properties = typeMirror.properties();
+		DotNetPropertyProxy[] proxies = new DotNetPropertyProxy[properties.length];
+		for(int i = 0; i < properties.length; i++)
+		{
+			proxies[i] = new MonoPropertyProxy(properties[i]);
+		}
+		return proxies;
+	}
+
+	@Nonnull
+	private static DotNetMethodProxy[] buildMethods(@Nonnull TypeMirror typeMirror)
+	{
+		MethodMirror[] methods = typeMirror.methods();
+		DotNetMethodProxy[] proxies = new DotNetMethodProxy[methods.length];
+		for(int i = 0; i < methods.length; i++)
+		{
+			proxies[i] = new MonoMethodProxy(methods[i]);
+		}
+		return proxies;
+	}
+
+	@Nonnull
+	private static DotNetTypeProxy[] buildInterfaces(@Nonnull TypeMirror typeMirror, @Nullable MonoTypeMetadataCache cache)
+	{
+		TypeMirror[] interfaces = typeMirror.getInterfaces();
+		DotNetTypeProxy[] proxies = new DotNetTypeProxy[interfaces.length];
+		for(int i = 0; i < interfaces.length; i++)
+		{
+			proxies[i] = MonoTypeProxy.of(interfaces[i], cache);
+		}
+		return proxies;
+	}
+
+	@Nonnull
+	private static Set<String> buildAttributeNames(@Nonnull TypeMirror typeMirror)
+	{
+		Set<String> names = new HashSet<>();
+		for(CustomAttributeMirror customAttributeMirror : typeMirror.customAttributes())
+		{
+			MethodMirror constructorMirror = customAttributeMirror.getConstructorMirror();
+			names.add(constructorMirror.declaringType().fullName());
+		}
+		return names;
+	}
+}
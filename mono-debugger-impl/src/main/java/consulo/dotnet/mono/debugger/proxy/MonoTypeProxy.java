@@ -26,10 +26,7 @@ import consulo.dotnet.debugger.proxy.DotNetFieldProxy;
 import consulo.dotnet.debugger.proxy.DotNetMethodProxy;
 import consulo.dotnet.debugger.proxy.DotNetPropertyProxy;
 import consulo.dotnet.debugger.proxy.DotNetTypeProxy;
-import mono.debugger.CustomAttributeMirror;
-import mono.debugger.FieldMirror;
 import mono.debugger.MethodMirror;
-import mono.debugger.PropertyMirror;
 import mono.debugger.TypeMirror;
 
 /**
@@ -42,16 +39,32 @@ public class MonoTypeProxy implements DotNetTypeProxy
 	@Contract("null -> null; !null -> !null")
 	public static MonoTypeProxy of(@Nullable TypeMirror typeMirror)
 	{
-		return typeMirror == null ? null : new MonoTypeProxy(typeMirror);
+		return of(typeMirror, null);
 	}
 
 	@Nullable
 	public static MonoTypeProxy of(@Nonnull Supplier<TypeMirror> supplier)
+	{
+		return of(supplier, null);
+	}
+
+	/**
+	 * @param typeMetadataCache session cache of vm, if null metadata is fetched by each proxy
+	 */
+	@Nullable
+	@Contract("null, _ -> null; !null, _ -> !null")
+	static MonoTypeProxy of(@Nullable TypeMirror typeMirror, @Nullable MonoTypeMetadataCache typeMetadataCache)
+	{
+		return typeMirror == null ? null : new MonoTypeProxy(typeMirror, typeMetadataCache);
+	}
+
+	@Nullable
+	static MonoTypeProxy of(@Nonnull Supplier<TypeMirror> supplier, @Nullable MonoTypeMetadataCache typeMetadataCache)
 	{
 		try
 		{
 			TypeMirror typeMirror = supplier.get();
-			return typeMirror == null ? null : new MonoTypeProxy(typeMirror);
+			return typeMirror == null ? null : new MonoTypeProxy(typeMirror, typeMetadataCache);
 		}
 		catch(Exception e)
 		{
@@ -61,24 +74,32 @@ public class MonoTypeProxy implements DotNetTypeProxy
 
 	private TypeMirror myTypeMirror;
 
-	private MonoTypeProxy(@Nonnull TypeMirror typeMirror)
+	@Nullable
+	private final MonoTypeMetadataCache myTypeMetadataCache;
+	private MonoTypeMetadataCache.TypeMetadata myMetadata;
+
+	private MonoTypeProxy(@Nonnull TypeMirror typeMirror, @Nullable MonoTypeMetadataCache typeMetadataCache)
 	{
 		myTypeMirror = typeMirror;
+		myTypeMetadataCache = typeMetadataCache;
 	}
 
-	@Override
-	public boolean isAnnotatedBy(@Nonnull String attributeVmQName)
+	@Nonnull
+	private MonoTypeMetadataCache.TypeMetadata getMetadata()
 	{
-		for(CustomAttributeMirror customAttributeMirror : myTypeMirror.customAttributes())
+		MonoTypeMetadataCache.TypeMetadata metadata = myMetadata;
+		if(metadata == null)
 		{
-			MethodMirror constructorMirror = customAttributeMirror.getConstructorMirror();
-			TypeMirror typeMirror = constructorMirror.declaringType();
-			if(attributeVmQName.equals(typeMirror.fullName()))
-			{
-				return true;
-			}
+			metadata = myTypeMetadataCache == null ? new MonoTypeMetadataCache.TypeMetadata(myTypeMirror, null) : myTypeMetadataCache.getMetadata(myTypeMirror);
+			myMetadata = metadata;
 		}
-		return false;
+		return metadata;
+	}
+
+	@Override
+	public boolean isAnnotatedBy(@Nonnull String attributeVmQName)
+	{
+		return getMetadata().getAttributeNames().contains(attributeVmQName);
 	}
 
 	@Nullable
@@ -90,7 +111,7 @@ public class MonoTypeProxy implements DotNetTypeProxy
 		{
 			return null;
 		}
-		return new MonoTypeProxy(parentType);
+		return new MonoTypeProxy(parentType, myTypeMetadataCache);
 	}
 
 	@Nonnull
@@ -117,68 +138,35 @@ public class MonoTypeProxy implements DotNetTypeProxy
 	@Override
 	public DotNetTypeProxy getBaseType()
 	{
-		TypeMirror baseType = myTypeMirror.baseType();
-		if(baseType == null)
-		{
-			return null;
-		}
-		return new MonoTypeProxy(baseType);
+		return getMetadata().getBaseType();
 	}
 
 	@Nonnull
 	@Override
 	public DotNetTypeProxy[] getInterfaces()
 	{
-		TypeMirror[] interfaces = myTypeMirror.getInterfaces();
-		DotNetTypeProxy[] proxies = new DotNetTypeProxy[interfaces.length];
-		for(int i = 0; i < interfaces.length; i++)
-		{
-			TypeMirror mirror = interfaces[i];
-			proxies[i] = new MonoTypeProxy(mirror);
-		}
-		return proxies;
+		return getMetadata().getInterfaces();
 	}
 
 	@Nonnull
 	@Override
 	public DotNetFieldProxy[] getFields()
 	{
-		FieldMirror[] fields = myTypeMirror.fields();
-		DotNetFieldProxy[] proxies = new DotNetFieldProxy[fields.length];
-		for(int i = 0; i < fields.length; i++)
-		{
-			FieldMirror field = fields[i];
-			proxies[i] = new MonoFieldProxy(field);
-		}
-		return proxies;
+		return getMetadata().getFields();
 	}
 
 	@Nonnull
 	@Override
 	public DotNetPropertyProxy[] getProperties()
 	{
-		PropertyMirror[] properties = myTypeMirror.properties();
-		DotNetPropertyProxy[] proxies = new DotNetPropertyProxy[properties.length];
-		for(int i = 0; i < properties.length; i++)
-		{
-			PropertyMirror property = properties[i];
-			proxies[i] = new MonoPropertyProxy(property);
-		}
-		return proxies;
+		return getMetadata().getProperties();
 	}
 
 	@Nonnull
 	@Override
 	public DotNetMethodProxy[] getMethods()
 	{
-		MethodMirror[] methods = myTypeMirror.methods();
-		DotNetMethodProxy[] proxies = new DotNetMethodProxy[methods.length];
-		for(int i = 0; i < methods.length; i++)
-		{
-			MethodMirror method = methods[i];
-			proxies[i] = new MonoMethodProxy(method);
-		}
-		return proxies;
+		return getMetadata().getMethods();
 	}
 
 	@Override
@@ -32,13 +32,23 @@ import jakarta.annotation.Nullable;
 public abstract class MonoValueProxyBase<T extends Value<?>> implements DotNetValueProxy
 {
 	protected T myValue;
+	// owner of value, null if proxy is created outside of session - then type metadata is not cached
+	@Nullable
+	protected final MonoVirtualMachineProxy myVirtualMachineProxy;
 
-	private final NullableLazyValue<DotNetTypeProxy> myTypeValue = NullableLazyValue.of(() -> MonoTypeProxy.of(myValue::type));
+	private final NullableLazyValue<DotNetTypeProxy> myTypeValue = NullableLazyValue.of(() -> MonoTypeProxy.of(myValue::type,
+			myVirtualMachineProxy == null ? null : myVirtualMachineProxy.getTypeMetadataCache()));
 	private final NullableLazyValue<Object> myValueValue = NullableLazyValue.of(() -> myValue.value());
 
 	public MonoValueProxyBase(T value)
+	{
+		this(value, null);
+	}
+
+	MonoValueProxyBase(T value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
 	{
 		myValue = value;
+		myVirtualMachineProxy = virtualMachineProxy;
 	}
 
 	public T getMirror()
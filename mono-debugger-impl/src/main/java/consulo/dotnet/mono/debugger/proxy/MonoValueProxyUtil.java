@@ -28,10 +28,20 @@ import mono.debugger.*;
  */
 public class MonoValueProxyUtil
 {
-	@SuppressWarnings("unchecked")
 	@Nullable
 	@Contract(value = "null -> null; !null -> !null", pure = true)
 	public static <T extends DotNetValueProxy> T wrap(@Nullable Value<?> value)
+	{
+		return wrap(value, null);
+	}
+
+	/**
+	 * @param virtualMachineProxy owner of value, its type metadata cache is used by types of value
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	@Contract(value = "null, _ -> null; !null, _ -> !null", pure = true)
+	public static <T extends DotNetValueProxy> T wrap(@Nullable Value<?> value, @Nullable MonoVirtualMachineProxy virtualMachineProxy)
 	{
 		if(value == null)
 		{
@@ -41,47 +51,47 @@ public class MonoValueProxyUtil
 		DotNetValueProxy valueProxy = null;
 		if(value instanceof ObjectValueMirror)
 		{
-			valueProxy = new MonoObjectValueProxy((ObjectValueMirror) value);
+			valueProxy = new MonoObjectValueProxy((ObjectValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof NoObjectValueMirror)
 		{
-			valueProxy = new MonoNullValueProxy((NoObjectValueMirror) value);
+			valueProxy = new MonoNullValueProxy((NoObjectValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof NumberValueMirror)
 		{
-			valueProxy = new MonoNumberValueProxy((NumberValueMirror) value);
+			valueProxy = new MonoNumberValueProxy((NumberValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof ArrayValueMirror)
 		{
-			valueProxy = new MonoArrayValueProxy((ArrayValueMirror) value);
+			valueProxy = new MonoArrayValueProxy((ArrayValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof StringValueMirror)
 		{
-			valueProxy = new MonoStringValueProxy((StringValueMirror) value);
+			valueProxy = new MonoStringValueProxy((StringValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof BooleanValueMirror)
 		{
-			valueProxy = new MonoBooleanValueProxy((BooleanValueMirror) value);
+			valueProxy = new MonoBooleanValueProxy((BooleanValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof CharValueMirror)
 		{
-			valueProxy = new MonoCharValueProxy((CharValueMirror) value);
+			valueProxy = new MonoCharValueProxy((CharValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof StructValueMirror)
 		{
-			valueProxy = new MonoStructValueProxy((StructValueMirror) value);
+			valueProxy = new MonoStructValueProxy((StructValueMirror) value, virtualMachineProxy);
 		}
 
 		if(value instanceof EnumValueMirror)
 		{
-			valueProxy = new MonoEnumValueProxy((EnumValueMirror) value);
+			valueProxy = new MonoEnumValueProxy((EnumValueMirror) value, virtualMachineProxy);
 		}
 
 		if(valueProxy == null)
@@ -33,7 +33,6 @@ import consulo.module.Module;
 import consulo.module.content.ProjectFileIndex;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
-import consulo.util.collection.MultiMap;
 import consulo.util.collection.SmartList;
 import consulo.util.lang.Comparing;
 import consulo.virtualFileSystem.VirtualFile;
@@ -47,9 +46,14 @@ import mono.debugger.request.TypeLoadRequest;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * @author VISTALL
@@ -59,9 +63,10 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 {
 	private static class TypeRequestInfo
 	{
-		private EventRequest myEventRequest;
+		private final EventRequest myEventRequest;
 
-		private final AtomicInteger myCount = new AtomicInteger(1);
+		// changed only inside compute of myTypeRequests
+		private int myCount = 1;
 
 		private TypeRequestInfo(EventRequest eventRequest)
 		{
@@ -69,16 +74,79 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		}
 	}
 
+	private static class FrameSnapshot
+	{
+		private final int myEpoch;
+		private final List<StackFrameMirror> myFrames;
+		private final Map<Integer, Map<Long, Value<?>>> myValues = new ConcurrentHashMap<>();
+
+		private FrameSnapshot(int epoch, List<StackFrameMirror> frames)
+		{
+			myEpoch = epoch;
+			myFrames = frames;
+		}
+	}
+
+	/**
+	 * Assemblies of app domain by short name, built by one assemblies() call. Not changed after build - new index is built,
+	 * when assembly is not found and app domain has other count of assemblies
+	 */
+	private static class AssemblyIndex
+	{
+		private final int myAssemblyCount;
+		private final Map<String, List<AssemblyMirror>> myAssemblies = new HashMap<>();
+
+		private AssemblyIndex(@Nonnull AssemblyMirror[] assemblies)
+		{
+			myAssemblyCount = assemblies.length;
+			for(AssemblyMirror assembly : assemblies)
+			{
+				myAssemblies.computeIfAbsent(getAssemblyName(assembly.name()), name -> new SmartList<>()).add(assembly);
+			}
+		}
+
+		@Nonnull
+		private List<AssemblyMirror> get(@Nonnull String assemblyName)
+		{
+			List<AssemblyMirror> assemblies = myAssemblies.get(assemblyName);
+			return assemblies == null ? Collections.emptyList() : assemblies;
+		}
+	}
+
+	/**
+	 * Type lookup strategies of findTypeMirrors, in default order
+	 */
+	private enum TypeLookupStrategy
+	{
+		QUALIFIED_NAME,
+		SOURCE_PATH,
+		ASSEMBLY
+	}
+
 	private static final Logger LOGGER = Logger.getInstance(MonoVirtualMachineProxy.class);
 
 	private final Map<Integer, AppDomainMirror> myLoadedAppDomains = new ConcurrentHashMap<>();
+	private final Map<Integer, AssemblyIndex> myAssemblyIndexes = new ConcurrentHashMap<>();
+	// source file -> assembly title of its module or library, empty if file is not from module
+	private final Map<VirtualFile, String> myAssemblyTitles = new ConcurrentHashMap<>();
+	private final MonoSourcePathCache<TypeMirror> myTypesBySourcePath;
+	// assembly title -> strategy which found types of it last time
+	private final Map<String, TypeLookupStrategy> myTypeLookupStrategies = new ConcurrentHashMap<>();
 	private final Set<StepRequest> myStepRequests = new LinkedHashSet<>();
-	private final MultiMap<XBreakpoint, EventRequest> myBreakpointEventRequests = MultiMap.create();
+	// breakpoint requests are put from vm thread and breakpoint flush thread, lists are changed only inside compute
+	private final Map<XBreakpoint<?>, List<EventRequest>> myBreakpointEventRequests = new ConcurrentHashMap<>();
+	private final Map<EventRequest, XBreakpoint<?>> myBreakpointByRequest = new ConcurrentHashMap<>();
 
 	private final Map<XBreakpoint<?>, String> myQNameByBreakpoint = new ConcurrentHashMap<>();
+	// counters and requests are changed atomically by compute, since breakpoints are enabled from several threads
 	private final Map<String, TypeRequestInfo> myTypeRequests = new ConcurrentHashMap<>();
 
+	private final AtomicInteger mySuspendEpoch = new AtomicInteger();
+	private final Map<Long, FrameSnapshot> myFrameSnapshots = new ConcurrentHashMap<>();
+
 	private final VirtualMachine myVirtualMachine;
+	private final MonoTypeMetadataCache myTypeMetadataCache;
+	private final MonoMethodDebugInfoCache myDebugInfoCache;
 
 	private final boolean mySupportSearchTypesBySourcePaths;
 	private final boolean mySupportSearchTypesByQualifiedName;
@@ -86,10 +154,15 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 	private final boolean mySupportTypeRequestByName;
 
 	private final ExecutorService myExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("mono vm invoker", 1);
+	private final ExecutorService myResolveExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("mono breakpoint resolver",
+			Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
 
 	public MonoVirtualMachineProxy(@Nonnull VirtualMachine virtualMachine)
 	{
 		myVirtualMachine = virtualMachine;
+		myTypeMetadataCache = new MonoTypeMetadataCache();
+		myDebugInfoCache = new MonoMethodDebugInfoCache(virtualMachine, myTypeMetadataCache);
+		myTypesBySourcePath = new MonoSourcePathCache<>(path -> Arrays.asList(virtualMachine.findTypesBySourcePath(path, SystemInfo.isFileSystemCaseSensitive)));
 		mySupportSearchTypesByQualifiedName = myVirtualMachine.isAtLeastVersion(2, 9);
 		mySupportTypeRequestByName = myVirtualMachine.isAtLeastVersion(2, 9);
 		mySupportSearchTypesBySourcePaths = myVirtualMachine.isAtLeastVersion(2, 7);
@@ -115,6 +188,25 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		});
 	}
 
+	/**
+	 * Executor for heavy computation like breakpoint location resolving, which can be run in parallel
+	 *
+	 * @return future of result, or completed future with null if vm is disposed
+	 */
+	@Nonnull
+	public <T> Future<T> submitResolve(@Nonnull Callable<T> callable)
+	{
+		try
+		{
+			return myResolveExecutor.submit(callable);
+		}
+		catch(RejectedExecutionException ignored)
+		{
+			// disposed
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
 	@Nullable
 	@Override
 	public DotNetTypeProxy findTypeInCorlib(@Nonnull String vmQName)
@@ -126,7 +218,7 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		{
 			return null;
 		}
-		return MonoTypeProxy.of(typeMirror);
+		return MonoTypeProxy.of(typeMirror, myTypeMetadataCache);
 	}
 
 	@Nullable
@@ -136,7 +228,7 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		try
 		{
 			TypeMirror typeMirror = findTypeMirror(project, virtualFile, vmQName);
-			return MonoTypeProxy.of(typeMirror);
+			return MonoTypeProxy.of(typeMirror, myTypeMetadataCache);
 		}
 		catch(TypeMirrorUnloadedException ignored)
 		{
@@ -155,35 +247,47 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 	@Override
 	public DotNetStringValueProxy createStringValue(@Nonnull String value)
 	{
-		return MonoValueProxyUtil.wrap(myVirtualMachine.rootAppDomain().createString(value));
+		return MonoValueProxyUtil.wrap(myVirtualMachine.rootAppDomain().createString(value), this);
 	}
 
 	@Nonnull
 	@Override
 	public DotNetCharValueProxy createCharValue(char value)
 	{
-		return MonoValueProxyUtil.wrap(new CharValueMirror(myVirtualMachine, value));
+		return MonoValueProxyUtil.wrap(new CharValueMirror(myVirtualMachine, value), this);
 	}
 
 	@Nonnull
 	@Override
 	public DotNetBooleanValueProxy createBooleanValue(boolean value)
 	{
-		return MonoValueProxyUtil.wrap(new BooleanValueMirror(myVirtualMachine, value));
+		return MonoValueProxyUtil.wrap(new BooleanValueMirror(myVirtualMachine, value), this);
 	}
 
 	@Nonnull
 	@Override
 	public DotNetNumberValueProxy createNumberValue(int tag, @Nonnull Number value)
 	{
-		return MonoValueProxyUtil.wrap(new NumberValueMirror(myVirtualMachine, tag, value));
+		return MonoValueProxyUtil.wrap(new NumberValueMirror(myVirtualMachine, tag, value), this);
 	}
 
 	@Nonnull
 	@Override
 	public DotNetNullValueProxy createNullValue()
 	{
-		return MonoValueProxyUtil.wrap(new NoObjectValueMirror(myVirtualMachine));
+		return MonoValueProxyUtil.wrap(new NoObjectValueMirror(myVirtualMachine), this);
+	}
+
+	@Nonnull
+	MonoTypeMetadataCache getTypeMetadataCache()
+	{
+		return myTypeMetadataCache;
+	}
+
+	@Nonnull
+	public MonoMethodDebugInfoCache getDebugInfoCache()
+	{
+		return myDebugInfoCache;
 	}
 
 	public boolean isSupportSystemThreadId()
@@ -199,9 +303,18 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 	public void dispose()
 	{
 		myExecutor.shutdown();
+		myResolveExecutor.shutdown();
 		myStepRequests.clear();
 		myVirtualMachine.dispose();
 		myBreakpointEventRequests.clear();
+		myBreakpointByRequest.clear();
+		myFrameSnapshots.clear();
+		myAssemblyIndexes.clear();
+		myAssemblyTitles.clear();
+		myTypesBySourcePath.clear();
+		myTypeLookupStrategies.clear();
+		myTypeMetadataCache.clear();
+		myDebugInfoCache.clear();
 	}
 
 	public void addStepRequest(@Nonnull StepRequest stepRequest)
@@ -224,20 +337,19 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 
 		myQNameByBreakpoint.put(breakpoint, qName);
 
-		TypeRequestInfo info = myTypeRequests.get(qName);
-		if(info != null)
+		myTypeRequests.compute(qName, (name, info) ->
 		{
-			info.myCount.incrementAndGet();
-		}
-		else
-		{
-			TypeLoadRequest request = eventRequestManager().createTypeLoadRequest();
-			request.addTypeNameFilter(qName);
-
-			myTypeRequests.put(qName, new TypeRequestInfo(request));
+			if(info != null)
+			{
+				info.myCount++;
+				return info;
+			}
 
+			TypeLoadRequest request = eventRequestManager().createTypeLoadRequest();
+			request.addTypeNameFilter(name);
 			request.enable();
-		}
+			return new TypeRequestInfo(request);
+		});
 	}
 
 	public void disableTypeRequest(@Nonnull XBreakpoint<?> breakpoint)
@@ -248,39 +360,39 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 			return;
 		}
 
-		TypeRequestInfo info = myTypeRequests.get(qName);
-		if(info == null)
+		myTypeRequests.computeIfPresent(qName, (name, info) ->
 		{
-			return;
-		}
-
-		int count = info.myCount.decrementAndGet();
-		if(count <= 0)
-		{
-			myTypeRequests.remove(qName);
+			if(--info.myCount > 0)
+			{
+				return info;
+			}
 
 			info.myEventRequest.delete();
-		}
+			return null;
+		});
 	}
 
 	public void putRequest(@Nonnull XBreakpoint<?> breakpoint, @Nonnull EventRequest request)
 	{
-		myBreakpointEventRequests.putValue(breakpoint, request);
+		myBreakpointEventRequests.compute(breakpoint, (key, requests) ->
+		{
+			List<EventRequest> newRequests = requests == null ? new SmartList<>() : requests;
+			newRequests.add(request);
+			// inside compute, so breakpoint dispose can not miss request
+			myBreakpointByRequest.put(request, breakpoint);
+			return newRequests;
+		});
 	}
 
 	@Nullable
 	public XBreakpoint<?> findBreakpointByRequest(@Nonnull EventRequest eventRequest)
 	{
-		for(Map.Entry<XBreakpoint, Collection<EventRequest>> entry : myBreakpointEventRequests.entrySet())
-		{
-			if(entry.getValue().contains(eventRequest))
-			{
-				return entry.getKey();
-			}
-		}
-		return null;
+		return myBreakpointByRequest.get(eventRequest);
 	}
 
+	/**
+	 * Disables and deletes requests of breakpoint. Protocol has no command for many requests, so every request costs own round trip
+	 */
 	public void disposeAllRelatedDataForBreakpoint(@Nonnull XBreakpoint<?> breakpoint, boolean removeTypeRequest)
 	{
 		// remove type request on breakpoint remove
@@ -289,14 +401,21 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 			disableTypeRequest(breakpoint);
 		}
 
-		Collection<EventRequest> eventRequests = myBreakpointEventRequests.remove(breakpoint);
+		List<EventRequest> eventRequests = myBreakpointEventRequests.remove(breakpoint);
 		if(eventRequests == null)
 		{
 			return;
 		}
+
 		for(EventRequest eventRequest : eventRequests)
 		{
-			eventRequest.disable();
+			myBreakpointByRequest.remove(eventRequest);
+
+			// disabled request - skip round trip
+			if(eventRequest.isEnabled())
+			{
+				eventRequest.disable();
+			}
 		}
 		myVirtualMachine.eventRequestManager().deleteEventRequests(eventRequests);
 	}
@@ -328,78 +447,154 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		return ContainerUtil.getFirstItem(typeMirrors);
 	}
 
+	/**
+	 * Runs lookup strategies one by one and stops on first strategy with result. Strategy which found type for assembly is tried first next time
+	 */
 	@Nonnull
 	private List<TypeMirror> findTypeMirrors(@Nonnull Project project, @Nonnull final VirtualFile virtualFile, @Nonnull final String vmQualifiedName) throws TypeMirrorUnloadedException
 	{
 		try
 		{
-			List<TypeMirror> list = new SmartList<>();
-			if(mySupportSearchTypesByQualifiedName)
-			{
-				TypeMirror[] typesByQualifiedName = myVirtualMachine.findTypesByQualifiedName(vmQualifiedName, false);
-				Collections.addAll(list, typesByQualifiedName);
-			}
+			String assemblyTitle = getAssemblyTitle(project, virtualFile);
 
-			if(mySupportSearchTypesBySourcePaths)
+			TypeLookupStrategy preferred = myTypeLookupStrategies.get(assemblyTitle);
+			if(preferred != null)
 			{
-				TypeMirror[] typesBySourcePath = myVirtualMachine.findTypesBySourcePath(virtualFile.getPath(), SystemInfo.isFileSystemCaseSensitive);
-				for(TypeMirror typeMirror : typesBySourcePath)
+				List<TypeMirror> list = findTypeMirrors(preferred, virtualFile, vmQualifiedName, assemblyTitle);
+				if(!list.isEmpty())
 				{
-					if(Comparing.equal(DotNetDebuggerUtil.getVmQName(typeMirror.fullName()), vmQualifiedName))
-					{
-						list.add(typeMirror);
-					}
+					return list;
 				}
 			}
 
-			String assemblyTitle = null;
-			if(ProjectFileIndex.getInstance(project).isInLibraryClasses(virtualFile))
+			for(TypeLookupStrategy strategy : TypeLookupStrategy.values())
 			{
-				VirtualFile archiveRoot = ArchiveVfsUtil.getVirtualFileForArchive(virtualFile);
-				if(archiveRoot != null)
+				if(strategy == preferred)
 				{
-					assemblyTitle = archiveRoot.getNameWithoutExtension();
-				}
-			}
-			else
-			{
-				Module moduleForFile = ModuleUtilCore.findModuleForFile(virtualFile, project);
-				if(moduleForFile == null)
-				{
-					return list;
+					continue;
 				}
 
-				final DotNetModuleLangExtension<?> extension = ModuleUtilCore.getExtension(moduleForFile, DotNetModuleLangExtension.class);
-				if(extension == null)
+				List<TypeMirror> list = findTypeMirrors(strategy, virtualFile, vmQualifiedName, assemblyTitle);
+				if(!list.isEmpty())
 				{
+					myTypeLookupStrategies.put(assemblyTitle, strategy);
 					return list;
 				}
-
-				assemblyTitle = getAssemblyTitle(extension);
 			}
+			return Collections.emptyList();
+		}
+		catch(VMDisconnectedException e)
+		{
+			return Collections.emptyList();
+		}
+	}
 
-			for(AppDomainMirror appDomainMirror : myLoadedAppDomains.values())
-			{
-				AssemblyMirror[] assemblies = appDomainMirror.assemblies();
-				for(AssemblyMirror assembly : assemblies)
+	/**
+	 * @return found types without duplicates, or empty list if strategy is not supported by vm
+	 */
+	@Nonnull
+	private List<TypeMirror> findTypeMirrors(@Nonnull TypeLookupStrategy strategy,
+											 @Nonnull VirtualFile virtualFile,
+											 @Nonnull String vmQualifiedName,
+											 @Nonnull String assemblyTitle)
+	{
+		// type id -> type
+		Map<Long, TypeMirror> result = new LinkedHashMap<>();
+		switch(strategy)
+		{
+			case QUALIFIED_NAME:
+				if(mySupportSearchTypesByQualifiedName)
+				{
+					for(TypeMirror typeMirror : myVirtualMachine.findTypesByQualifiedName(vmQualifiedName, false))
+					{
+						result.putIfAbsent((long) typeMirror.id(), typeMirror);
+					}
+				}
+				break;
+			case SOURCE_PATH:
+				if(mySupportSearchTypesBySourcePaths)
+				{
+					List<TypeMirror> typesBySourcePath = myTypesBySourcePath.find(virtualFile.getPath(),
+							typeMirror -> Comparing.equal(DotNetDebuggerUtil.getVmQName(typeMirror.fullName()), vmQualifiedName));
+					for(TypeMirror typeMirror : typesBySourcePath)
+					{
+						result.putIfAbsent((long) typeMirror.id(), typeMirror);
+					}
+				}
+				break;
+			case ASSEMBLY:
+				if(!assemblyTitle.isEmpty())
 				{
-					String assemblyName = getAssemblyName(assembly.name());
-					if(Comparing.equal(assemblyTitle, assemblyName))
+					for(AppDomainMirror appDomainMirror : myLoadedAppDomains.values())
 					{
-						TypeMirror typeByQualifiedName = assembly.findTypeByQualifiedName(vmQualifiedName, false);
-						if(typeByQualifiedName != null)
+						for(AssemblyMirror assembly : findAssemblies(appDomainMirror, assemblyTitle))
 						{
-							list.add(typeByQualifiedName);
+							TypeMirror typeByQualifiedName = assembly.findTypeByQualifiedName(vmQualifiedName, false);
+							if(typeByQualifiedName != null)
+							{
+								result.putIfAbsent((long) typeByQualifiedName.id(), typeByQualifiedName);
+							}
 						}
 					}
 				}
+				break;
+		}
+		return result.isEmpty() ? Collections.emptyList() : new ArrayList<>(result.values());
+	}
+
+	/**
+	 * Assemblies are not unloaded without app domain, so found assemblies are valid until index is dropped with app domain.
+	 * If assembly is not found, it can be loaded after index was built - assemblies of domain are requested again
+	 */
+	@Nonnull
+	private List<AssemblyMirror> findAssemblies(@Nonnull AppDomainMirror appDomainMirror, @Nonnull String assemblyTitle)
+	{
+		AssemblyIndex assemblyIndex = myAssemblyIndexes.get(appDomainMirror.id());
+		if(assemblyIndex != null)
+		{
+			List<AssemblyMirror> assemblies = assemblyIndex.get(assemblyTitle);
+			if(!assemblies.isEmpty())
+			{
+				return assemblies;
 			}
-			return list;
 		}
-		catch(VMDisconnectedException e)
+
+		AssemblyMirror[] assemblies = appDomainMirror.assemblies();
+		if(assemblyIndex == null || assemblyIndex.myAssemblyCount != assemblies.length)
 		{
-			return Collections.emptyList();
+			assemblyIndex = new AssemblyIndex(assemblies);
+			myAssemblyIndexes.put(appDomainMirror.id(), assemblyIndex);
 		}
+		return assemblyIndex.get(assemblyTitle);
+	}
+
+	/**
+	 * @return assembly title of library archive or module of file, or empty string if file is not from module
+	 */
+	@Nonnull
+	private String getAssemblyTitle(@Nonnull Project project, @Nonnull VirtualFile virtualFile)
+	{
+		return myAssemblyTitles.computeIfAbsent(virtualFile, file ->
+		{
+			if(ProjectFileIndex.getInstance(project).isInLibraryClasses(file))
+			{
+				VirtualFile archiveRoot = ArchiveVfsUtil.getVirtualFileForArchive(file);
+				return archiveRoot == null ? "" : archiveRoot.getNameWithoutExtension();
+			}
+
+			Module moduleForFile = ModuleUtilCore.findModuleForFile(file, project);
+			if(moduleForFile == null)
+			{
+				return "";
+			}
+
+			final DotNetModuleLangExtension<?> extension = ModuleUtilCore.getExtension(moduleForFile, DotNetModuleLangExtension.class);
+			if(extension == null)
+			{
+				return "";
+			}
+			return getAssemblyTitle(extension);
+		});
 	}
 
 	@Nonnull
@@ -427,8 +622,80 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 		return name.substring(0, i);
 	}
 
+	/**
+	 * Returns frames of thread, fetched only once per suspend. Snapshot is dropped by {@link #invalidateFrames()}
+	 */
+	@Nonnull
+	public List<StackFrameMirror> getFrames(@Nonnull ThreadMirror threadMirror)
+	{
+		return getFrameSnapshot(threadMirror).myFrames;
+	}
+
+	/**
+	 * Returns values of locals & parameters of frame, fetched only once per suspend. Fetch is done outside of map, concurrent fetch of same frame can be done twice
+	 */
+	@Nonnull
+	public Map<Long, Value<?>> getFrameValues(@Nonnull ThreadMirror threadMirror, int frameIndex, @Nonnull Supplier<Map<Long, Value<?>>> fetcher)
+	{
+		FrameSnapshot snapshot = getFrameSnapshot(threadMirror);
+		Map<Long, Value<?>> values = snapshot.myValues.get(frameIndex);
+		if(values != null)
+		{
+			return values;
+		}
+
+		values = fetcher.get();
+		if(snapshot.myEpoch != mySuspendEpoch.get())
+		{
+			return values;
+		}
+
+		Map<Long, Value<?>> oldValues = snapshot.myValues.putIfAbsent(frameIndex, values);
+		return oldValues != null ? oldValues : values;
+	}
+
+	public void dropFrameValues(@Nonnull ThreadMirror threadMirror, int frameIndex)
+	{
+		FrameSnapshot snapshot = myFrameSnapshots.get(threadMirror.id());
+		if(snapshot != null)
+		{
+			snapshot.myValues.remove(frameIndex);
+		}
+	}
+
+	@Nonnull
+	private FrameSnapshot getFrameSnapshot(@Nonnull ThreadMirror threadMirror)
+	{
+		int epoch = mySuspendEpoch.get();
+		long threadId = threadMirror.id();
+
+		FrameSnapshot snapshot = myFrameSnapshots.get(threadId);
+		if(snapshot != null && snapshot.myEpoch == epoch)
+		{
+			return snapshot;
+		}
+
+		snapshot = new FrameSnapshot(epoch, threadMirror.frames());
+		// vm can be resumed while we fetched frames - dont store stale snapshot
+		if(mySuspendEpoch.get() == epoch)
+		{
+			myFrameSnapshots.put(threadId, snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Must be called when vm or thread is resumed (including method invoke), since old frames are invalid after it
+	 */
+	public void invalidateFrames()
+	{
+		mySuspendEpoch.incrementAndGet();
+		myFrameSnapshots.clear();
+	}
+
 	public void resume()
 	{
+		invalidateFrames();
 		try
 		{
 			myVirtualMachine.resume();
@@ -457,5 +724,10 @@ public class MonoVirtualMachineProxy implements DotNetVirtualMachineProxy
 	public void unloadAppDomain(AppDomainMirror appDomainMirror)
 	{
 		myLoadedAppDomains.remove(appDomainMirror.id());
+		myAssemblyIndexes.remove(appDomainMirror.id());
+		myTypesBySourcePath.clear();
+
+		myTypeMetadataCache.clear();
+		myDebugInfoCache.clear();
 	}
 }
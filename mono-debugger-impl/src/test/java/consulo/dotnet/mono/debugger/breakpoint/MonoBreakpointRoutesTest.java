@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.dotnet.mono.debugger.breakpoint;
+
+import consulo.execution.debug.breakpoint.XBreakpoint;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonoBreakpointRoutesTest
+{
+	@Test
+	public void addAndGet()
+	{
+		MonoBreakpointRoutes routes = new MonoBreakpointRoutes();
+		XBreakpoint<?> first = createBreakpoint();
+		XBreakpoint<?> second = createBreakpoint();
+		XBreakpoint<?> third = createBreakpoint();
+
+		routes.add(first, "A.Type");
+		routes.add(second, "A.Type");
+		routes.add(third, "B.Type");
+
+		assertEquals(Set.of(first, second), routes.get("A.Type"));
+		assertEquals(Set.of(third), routes.get("B.Type"));
+		assertTrue(routes.get("C.Type").isEmpty());
+		assertEquals("A.Type", routes.getQName(first));
+	}
+
+	@Test
+	public void addWithoutQName()
+	{
+		MonoBreakpointRoutes routes = new MonoBreakpointRoutes();
+		XBreakpoint<?> breakpoint = createBreakpoint();
+
+		routes.add(breakpoint, "A.Type");
+		// type of breakpoint is unknown now - old route is dropped
+		routes.add(breakpoint, null);
+
+		assertTrue(routes.get("A.Type").isEmpty());
+		assertNull(routes.getQName(breakpoint));
+		assertTrue(routes.isEmpty());
+	}
+
+	@Test
+	public void moveToOtherType()
+	{
+		MonoBreakpointRoutes routes = new MonoBreakpointRoutes();
+		XBreakpoint<?> breakpoint = createBreakpoint();
+		XBreakpoint<?> other = createBreakpoint();
+
+		routes.add(breakpoint, "A.Type");
+		routes.add(other, "A.Type");
+		routes.add(breakpoint, "B.Type");
+
+		assertEquals(Set.of(other), routes.get("A.Type"));
+		assertEquals(Set.of(breakpoint), routes.get("B.Type"));
+		assertEquals("B.Type", routes.getQName(breakpoint));
+	}
+
+	@Test
+	public void remove()
+	{
+		MonoBreakpointRoutes routes = new MonoBreakpointRoutes();
+		XBreakpoint<?> first = createBreakpoint();
+		XBreakpoint<?> second = createBreakpoint();
+
+		routes.add(first, "A.Type");
+		routes.add(second, "A.Type");
+
+		routes.remove(first);
+		assertEquals(Set.of(second), routes.get("A.Type"));
+
+		// not registered breakpoint
+		routes.remove(first);
+		assertEquals(Set.of(second), routes.get("A.Type"));
+
+		routes.remove(second);
+		assertTrue(routes.get("A.Type").isEmpty());
+		assertTrue(routes.isEmpty());
+	}
+
+	@Test
+	public void concurrentChanges() throws InterruptedException
+	{
+		MonoBreakpointRoutes routes = new MonoBreakpointRoutes();
+		XBreakpoint<?> stable = createBreakpoint();
+		routes.add(stable, "A.Type");
+
+		// same type name is emptied and filled again by other threads, registered breakpoint must never be lost
+		Thread[] threads = new Thread[4];
+		for(int i = 0; i < threads.length; i++)
+		{
+			threads[i] = new Thread(() ->
+			{
+				for(int j = 0; j < 10_000; j++)
+				{
+					XBreakpoint<?> breakpoint = createBreakpoint();
+					routes.add(breakpoint, "B.Type");
+					routes.remove(breakpoint);
+				}
+			});
+			threads[i].start();
+		}
+
+		XBreakpoint<?> moving = createBreakpoint();
+		for(int j = 0; j < 10_000; j++)
+		{
+			routes.add(moving, (j & 1) == 0 ? "A.Type" : "B.Type");
+		}
+
+		for(Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertEquals(Set.of(stable), routes.get("A.Type"));
+		assertEquals(Set.of(moving), routes.get("B.Type"));
+	}
+
+	private static XBreakpoint<?> createBreakpoint()
+	{
+		// identity based equals/hashCode, other methods are not used by routes
+		return (XBreakpoint<?>) Proxy.newProxyInstance(MonoBreakpointRoutesTest.class.getClassLoader(), new Class[]{XBreakpoint.class}, (proxy, method, args) ->
+		{
+			switch(method.getName())
+			{
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "breakpoint@" + Integer.toHexString(System.identityHashCode(proxy));
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+}
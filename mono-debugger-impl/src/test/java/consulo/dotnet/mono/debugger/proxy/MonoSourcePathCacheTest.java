@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.dotnet.mono.debugger.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonoSourcePathCacheTest
+{
+	private final Map<String, List<String>> myVmTypes = new ConcurrentHashMap<>();
+	private final List<String> myLoadedPaths = new ArrayList<>();
+
+	private final MonoSourcePathCache<String> myCache = new MonoSourcePathCache<>(path ->
+	{
+		myLoadedPaths.add(path);
+		return new ArrayList<>(myVmTypes.getOrDefault(path, List.of()));
+	});
+
+	@Test
+	public void hit()
+	{
+		myVmTypes.put("/a.cs", List.of("A.First", "A.Second"));
+
+		assertEquals(List.of("A.First"), myCache.find("/a.cs", "A.First"::equals));
+		assertEquals(List.of("A.Second"), myCache.find("/a.cs", "A.Second"::equals));
+		assertEquals(List.of("A.First"), myCache.find("/a.cs", "A.First"::equals));
+
+		// only first lookup asked vm
+		assertEquals(List.of("/a.cs"), myLoadedPaths);
+	}
+
+	@Test
+	public void hitAfterOtherTypeLoaded()
+	{
+		myVmTypes.put("/a.cs", List.of("A.First"));
+		myCache.find("/a.cs", "A.First"::equals);
+
+		// type from other file is loaded - cache of path is still used
+		myVmTypes.put("/b.cs", List.of("B.Type"));
+		assertEquals(List.of("A.First"), myCache.find("/a.cs", "A.First"::equals));
+
+		assertEquals(List.of("/a.cs"), myLoadedPaths);
+	}
+
+	@Test
+	public void missLoadsAgain()
+	{
+		myVmTypes.put("/a.cs", List.of("A.First"));
+		myCache.find("/a.cs", "A.First"::equals);
+
+		// type of same file is loaded after cache was filled
+		myVmTypes.put("/a.cs", List.of("A.First", "A.Second"));
+		assertEquals(List.of("A.Second"), myCache.find("/a.cs", "A.Second"::equals));
+		assertEquals(List.of("/a.cs", "/a.cs"), myLoadedPaths);
+
+		// and it's cached now
+		assertEquals(List.of("A.Second"), myCache.find("/a.cs", "A.Second"::equals));
+		assertEquals(List.of("/a.cs", "/a.cs"), myLoadedPaths);
+	}
+
+	@Test
+	public void notLoadedType()
+	{
+		assertTrue(myCache.find("/a.cs", "A.First"::equals).isEmpty());
+		assertTrue(myCache.find("/a.cs", "A.First"::equals).isEmpty());
+
+		// type is not loaded yet, every lookup asks vm
+		assertEquals(List.of("/a.cs", "/a.cs"), myLoadedPaths);
+	}
+
+	@Test
+	public void clear()
+	{
+		myVmTypes.put("/a.cs", List.of("A.First"));
+		myCache.find("/a.cs", "A.First"::equals);
+
+		myCache.clear();
+		myCache.find("/a.cs", "A.First"::equals);
+
+		assertEquals(List.of("/a.cs", "/a.cs"), myLoadedPaths);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generator of synthetic monodoc .tree/.zip pair: {@link #NAMESPACES} namespaces 'NsN.Sub', each with {@link #TYPES} types 'TypeN',
+ * each type with {@link #MEMBERS} methods 'MN(System.Int32)' and properties 'PN'. Zip entry of type is its sequential number.
+ * <p/>
+ * Run at build time (process-classes), benchmarks also generate it on demand if fixture dir is absent
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+public class MonodocFixture
+{
+	public static final String FIXTURE_DIR_PROPERTY = "monodoc.fixture.dir";
+
+	// filtered by maven, holds fixture dir of build
+	private static final String FIXTURE_PROPERTIES = "/monodoc-benchmark.properties";
+
+	public static final int NAMESPACES = 50;
+	public static final int TYPES = 100;
+	public static final int MEMBERS = 20;
+
+	public static final String BASE_NAME = "synthetic";
+
+	public static void main(String[] args) throws IOException
+	{
+		File directory = new File(args.length > 0 ? args[0] : "target/fixtures");
+		generate(directory);
+	}
+
+	/**
+	 * @return directory with fixture, from system property, build properties or temp directory. Generated if absent
+	 */
+	public static File getOrGenerate() throws IOException
+	{
+		String path = System.getProperty(FIXTURE_DIR_PROPERTY);
+		if(path == null)
+		{
+			path = getBuildFixtureDir();
+		}
+		File directory = path != null ? new File(path) : new File(System.getProperty("java.io.tmpdir"), "monodoc-benchmark");
+		if(!getTreeFile(directory).isFile() || !getZipFile(directory).isFile())
+		{
+			generate(directory);
+		}
+		return directory;
+	}
+
+	private static String getBuildFixtureDir() throws IOException
+	{
+		try(InputStream stream = MonodocFixture.class.getResourceAsStream(FIXTURE_PROPERTIES))
+		{
+			if(stream == null)
+			{
+				return null;
+			}
+			Properties properties = new Properties();
+			properties.load(stream);
+			return properties.getProperty(FIXTURE_DIR_PROPERTY);
+		}
+	}
+
+	public static File getTreeFile(File directory)
+	{
+		return new File(directory, BASE_NAME + ".tree");
+	}
+
+	public static File getZipFile(File directory)
+	{
+		return new File(directory, BASE_NAME + ".zip");
+	}
+
+	public static String getNamespace(int index)
+	{
+		return "Ns" + index + ".Sub";
+	}
+
+	public static String getType(int index)
+	{
+		return "Type" + index;
+	}
+
+	public static void generate(File directory) throws IOException
+	{
+		Files.createDirectories(directory.toPath());
+
+		ByteArrayOutputStream tree = new ByteArrayOutputStream();
+		// signature + root address, patched after
+		tree.write(new byte[]{'M', 'o', 'H', 'P', 0, 0, 0, 0});
+
+		int[] namespaceAddresses = new int[NAMESPACES];
+		try(ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(getZipFile(directory))))
+		{
+			int entry = 0;
+			for(int n = 0; n < NAMESPACES; n++)
+			{
+				String namespace = getNamespace(n);
+
+				int[] typeAddresses = new int[TYPES];
+				for(int t = 0; t < TYPES; t++)
+				{
+					String type = getType(t);
+					typeAddresses[t] = writeNode(tree, "ecma:" + entry + "#" + type + "/", type, new int[0]);
+
+					zip.putNextEntry(new ZipEntry(String.valueOf(entry)));
+					zip.write(buildTypeXml(namespace, type).getBytes(StandardCharsets.UTF_8));
+					zip.closeEntry();
+					entry++;
+				}
+				namespaceAddresses[n] = writeNode(tree, "N:" + namespace, namespace, typeAddresses);
+			}
+		}
+
+		int root = writeNode(tree, "root:", "root", namespaceAddresses);
+
+		byte[] bytes = tree.toByteArray();
+		// little-endian, like .NET BinaryWriter
+		bytes[4] = (byte) root;
+		bytes[5] = (byte) (root >>> 8);
+		bytes[6] = (byte) (root >>> 16);
+		bytes[7] = (byte) (root >>> 24);
+
+		try(OutputStream out = new FileOutputStream(getTreeFile(directory)))
+		{
+			out.write(bytes);
+		}
+	}
+
+	private static String buildTypeXml(String namespace, String type)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("<Type Name=\"").append(type).append("\" FullName=\"").append(namespace).append('.').append(type).append("\">");
+		builder.append("<Docs><summary>Documentation of ").append(type).append("</summary><remarks>Synthetic type</remarks></Docs>");
+		builder.append("<Members>");
+		for(int i = 0; i < MEMBERS; i++)
+		{
+			builder.append("<Member MemberName=\"M").append(i).append("\"><MemberType>Method</MemberType>");
+			builder.append("<Parameters><Parameter Name=\"value\" Type=\"System.Int32\" /></Parameters>");
+			builder.append("<Docs><summary>Method ").append(i).append("</summary><param name=\"value\">value</param></Docs></Member>");
+
+			builder.append("<Member MemberName=\"P").append(i).append("\"><MemberType>Property</MemberType>");
+			builder.append("<Docs><summary>Property ").append(i).append("</summary><value>value</value></Docs></Member>");
+		}
+		builder.append("</Members></Type>");
+		return builder.toString();
+	}
+
+	/**
+	 * Node layout of MonodocNode: 7-bit encoded child count, element, caption, 7-bit encoded child addresses
+	 */
+	private static int writeNode(ByteArrayOutputStream out, String element, String caption, int[] children)
+	{
+		int address = out.size();
+		write7BitEncodedInt(out, children.length);
+		writeString(out, element);
+		writeString(out, caption);
+		for(int child : children)
+		{
+			write7BitEncodedInt(out, child);
+		}
+		return address;
+	}
+
+	private static void writeString(ByteArrayOutputStream out, String value)
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		write7BitEncodedInt(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private static void write7BitEncodedInt(ByteArrayOutputStream out, int value)
+	{
+		while((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+}
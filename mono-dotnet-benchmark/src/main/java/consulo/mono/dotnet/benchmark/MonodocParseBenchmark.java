@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.benchmark;
+
+import org.emonic.base.documentation.ITypeDocumentation;
+import org.emonic.monodoc.MonodocTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Zip entry extraction and type xml parse. Types are visited round-robin over all fixture types,
+ * which is far more than parsed type cache of tree, so every lookup extracts and parses entry
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonodocParseBenchmark
+{
+	private static final int TYPE_COUNT = MonodocFixture.NAMESPACES * MonodocFixture.TYPES;
+
+	private ZipFile myZip;
+	private MonodocTree myTree;
+
+	private byte[] myBuffer = new byte[8192];
+
+	private int myCounter;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		File directory = MonodocFixture.getOrGenerate();
+		myZip = new ZipFile(MonodocFixture.getZipFile(directory));
+
+		myTree = new MonodocTree(MonodocFixture.getTreeFile(directory), MonodocFixture.getZipFile(directory));
+		myTree.loadNode();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		myZip.close();
+		myTree.close();
+	}
+
+	@Benchmark
+	public int extractEntry() throws IOException
+	{
+		ZipEntry entry = myZip.getEntry(String.valueOf(myCounter++ % TYPE_COUNT));
+
+		int size = 0;
+		try(InputStream inputStream = myZip.getInputStream(entry))
+		{
+			int read;
+			while((read = inputStream.read(myBuffer)) > 0)
+			{
+				size += read;
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public ITypeDocumentation extractAndParse()
+	{
+		int index = myCounter++ % TYPE_COUNT;
+		return myTree.findDocumentation(MonodocFixture.getNamespace(index / MonodocFixture.TYPES), MonodocFixture.getType(index % MonodocFixture.TYPES));
+	}
+}
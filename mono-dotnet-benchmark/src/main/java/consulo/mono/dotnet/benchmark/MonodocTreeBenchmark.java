@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.benchmark;
+
+import org.emonic.base.documentation.IDocumentation;
+import org.emonic.base.documentation.ITypeDocumentation;
+import org.emonic.monodoc.MonodocTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree load and type lookup of {@link MonodocTree}. Lookups hit parsed type cache, so they measure tree/index walk
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonodocTreeBenchmark
+{
+	private File myTreeFile;
+	private File myZipFile;
+	private File myIndexFile;
+
+	private MonodocTree myTree;
+	private MonodocTree myIndexedTree;
+
+	private int myCounter;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		File directory = MonodocFixture.getOrGenerate();
+		myTreeFile = MonodocFixture.getTreeFile(directory);
+		myZipFile = MonodocFixture.getZipFile(directory);
+		myIndexFile = Files.createTempFile("monodoc", ".index").toFile();
+		myIndexFile.delete();
+
+		myTree = new MonodocTree(myTreeFile, myZipFile);
+		myTree.loadNode();
+
+		// first load writes index, second maps it
+		MonodocTree indexWriter = new MonodocTree(myTreeFile, myZipFile, myIndexFile);
+		indexWriter.loadIndexed();
+		indexWriter.close();
+		myIndexedTree = new MonodocTree(myTreeFile, myZipFile, myIndexFile);
+		myIndexedTree.loadIndexed();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		myTree.close();
+		myIndexedTree.close();
+		myIndexFile.delete();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public MonodocTree coldLoad() throws IOException
+	{
+		MonodocTree tree = new MonodocTree(myTreeFile, myZipFile);
+		tree.loadNode();
+		// namespaces and types are read lazily, lookup forces walk of one namespace
+		tree.findDocumentation(MonodocFixture.getNamespace(MonodocFixture.NAMESPACES - 1), "Missing");
+		tree.close();
+		return tree;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public MonodocTree coldLoadIndexed() throws IOException
+	{
+		MonodocTree tree = new MonodocTree(myTreeFile, myZipFile, myIndexFile);
+		tree.loadIndexed();
+		tree.findDocumentation(MonodocFixture.getNamespace(MonodocFixture.NAMESPACES - 1), "Missing");
+		tree.close();
+		return tree;
+	}
+
+	@Benchmark
+	public ITypeDocumentation findDocumentationHit()
+	{
+		// same type, served from parsed cache
+		return myTree.findDocumentation(MonodocFixture.getNamespace(7), MonodocFixture.getType(42));
+	}
+
+	@Benchmark
+	public ITypeDocumentation findDocumentationMiss()
+	{
+		int index = myCounter++ % MonodocFixture.NAMESPACES;
+		return myTree.findDocumentation(MonodocFixture.getNamespace(index), "Missing");
+	}
+
+	@Benchmark
+	public ITypeDocumentation findDocumentationMissNamespace()
+	{
+		return myTree.findDocumentation("Missing.Namespace", MonodocFixture.getType(1));
+	}
+
+	@Benchmark
+	public ITypeDocumentation findDocumentationIndexedHit()
+	{
+		return myIndexedTree.findDocumentation(MonodocFixture.getNamespace(7), MonodocFixture.getType(42));
+	}
+
+	@Benchmark
+	public ITypeDocumentation findDocumentationIndexedMiss()
+	{
+		int index = myCounter++ % MonodocFixture.NAMESPACES;
+		return myIndexedTree.findDocumentation(MonodocFixture.getNamespace(index), "Missing");
+	}
+
+	@Benchmark
+	public IDocumentation findMemberDocumentation()
+	{
+		return myTree.findMemberDocumentation(MonodocFixture.getNamespace(7), MonodocFixture.getType(42), "P" + (MonodocFixture.MEMBERS - 1));
+	}
+}
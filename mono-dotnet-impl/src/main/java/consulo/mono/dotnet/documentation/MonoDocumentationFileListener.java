@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.documentation;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.TopicImpl;
+import consulo.virtualFileSystem.event.BulkFileListener;
+import consulo.virtualFileSystem.event.VFileEvent;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Drops cached monodoc lookups, when .source/.tree/.zip files of monodoc are changed
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@TopicImpl(ComponentScope.APPLICATION)
+public class MonoDocumentationFileListener implements BulkFileListener
+{
+	@Override
+	public void after(@Nonnull List<? extends VFileEvent> events)
+	{
+		MonoDocumentationResolver.getInstance().filesChanged(events);
+	}
+}
@@ -18,19 +18,35 @@ package consulo.mono.dotnet.documentation;
 
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.application.Application;
+import consulo.application.ReadAction;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.Task;
+import consulo.container.boot.ContainerPathManager;
+import consulo.content.bundle.Sdk;
 import consulo.dotnet.documentation.DotNetDocumentationResolver;
+import consulo.dotnet.psi.DotNetConstructorDeclaration;
 import consulo.dotnet.psi.DotNetMethodDeclaration;
+import consulo.dotnet.psi.DotNetParameter;
 import consulo.dotnet.psi.DotNetQualifiedElement;
+import consulo.dotnet.psi.DotNetType;
 import consulo.dotnet.psi.DotNetTypeDeclaration;
 import consulo.language.psi.PsiElement;
+import consulo.language.psi.util.PsiTreeUtil;
 import consulo.logging.Logger;
-import consulo.util.collection.ContainerUtil;
+import consulo.module.extension.ModuleExtensionHelper;
+import consulo.mono.dotnet.localize.MonoDotNetLocalize;
+import consulo.mono.dotnet.module.extension.MonoDotNetModuleExtension;
+import consulo.mono.dotnet.sdk.MonoSdkType;
+import consulo.project.Project;
+import consulo.util.io.FileUtil;
 import consulo.util.jdom.JDOMUtil;
 import consulo.util.lang.Comparing;
 import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.event.VFileEvent;
 import consulo.virtualFileSystem.util.VirtualFileUtil;
+import org.emonic.base.codehierarchy.CodeHierarchyHelper;
 import org.emonic.base.documentation.IDocumentation;
-import org.emonic.base.documentation.ITypeDocumentation;
 import org.emonic.monodoc.MonodocTree;
 import org.jdom.Document;
 import org.jdom.Element;
@@ -38,10 +54,18 @@ import org.jdom.JDOMException;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author VISTALL
@@ -52,7 +76,194 @@ public class MonoDocumentationResolver implements DotNetDocumentationResolver
 {
 	private static final Logger LOGGER = Logger.getInstance(MonoDocumentationResolver.class);
 
-	private Map<VirtualFile, MonodocTree[]> myCache = ContainerUtil.createConcurrentWeakMap();
+	private static final int NEGATIVE_CACHE_SIZE = 4096;
+
+	/**
+	 * Key of lookup without result: .source file, namespace and type name (with member signature, if member)
+	 */
+	private static final class NegativeKey
+	{
+		private final VirtualFile mySourceFile;
+		private final String myNamespace;
+		private final String myName;
+
+		private NegativeKey(VirtualFile sourceFile, String namespace, String name)
+		{
+			mySourceFile = sourceFile;
+			myNamespace = namespace;
+			myName = name;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if(this == o)
+			{
+				return true;
+			}
+			if(!(o instanceof NegativeKey))
+			{
+				return false;
+			}
+			NegativeKey that = (NegativeKey) o;
+			return mySourceFile.equals(that.mySourceFile) && myNamespace.equals(that.myNamespace) && myName.equals(that.myName);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			int result = mySourceFile.hashCode();
+			result = 31 * result + myNamespace.hashCode();
+			result = 31 * result + myName.hashCode();
+			return result;
+		}
+	}
+
+	@Nonnull
+	public static MonoDocumentationResolver getInstance()
+	{
+		return Application.get().getExtensionPoint(DotNetDocumentationResolver.class).findExtensionOrFail(MonoDocumentationResolver.class);
+	}
+
+	// loaded trees are owned by resolver, and closed on eviction
+	private final Map<VirtualFile, MonodocTree[]> myCache = new ConcurrentHashMap<>();
+
+	// documentation directories waiting for warm up. Guarded by itself
+	private final Set<VirtualFile> myWarmUpDirectories = new LinkedHashSet<>();
+
+	// warm up task is queued or running, new directories are picked up by it. Guarded by myWarmUpDirectories
+	private boolean myWarmUpRunning;
+
+	// lookups without result, least recently used are evicted. Guarded by itself
+	private final Map<NegativeKey, Boolean> myNegativeCache = new LinkedHashMap<NegativeKey, Boolean>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<NegativeKey, Boolean> eldest)
+		{
+			return size() > NEGATIVE_CACHE_SIZE;
+		}
+	};
+
+	// incremented after trees are released, lookup started before it can fail only because tree was closed. Guarded by myNegativeCache
+	private long myReleaseCount;
+
+	/**
+	 * Load documentation trees of Mono sdks used by project in background, so first quick doc call will not wait for it
+	 */
+	@RequiredReadAction
+	public void warmUp(@Nonnull Project project)
+	{
+		warmUp(project, collectDocumentationDirectories(project));
+	}
+
+	/**
+	 * Load documentation trees from given directories in background. Calls made while warm up is running are merged into it
+	 */
+	public void warmUp(@Nonnull Project project, @Nonnull Collection<VirtualFile> documentationDirectories)
+	{
+		synchronized(myWarmUpDirectories)
+		{
+			myWarmUpDirectories.addAll(documentationDirectories);
+			if(myWarmUpRunning || myWarmUpDirectories.isEmpty())
+			{
+				return;
+			}
+			myWarmUpRunning = true;
+		}
+
+		queueWarmUp(project);
+	}
+
+	@Nonnull
+	@RequiredReadAction
+	public static Set<VirtualFile> collectDocumentationDirectories(@Nonnull Project project)
+	{
+		Set<VirtualFile> directories = new LinkedHashSet<>();
+		for(MonoDotNetModuleExtension extension : ModuleExtensionHelper.getInstance(project).getModuleExtensions(MonoDotNetModuleExtension.class))
+		{
+			Sdk sdk = extension.getSdk();
+			VirtualFile documentationDirectory = sdk == null ? null : MonoSdkType.findDocumentationDirectory(sdk);
+			if(documentationDirectory != null)
+			{
+				directories.add(documentationDirectory);
+			}
+		}
+		return directories;
+	}
+
+	private void queueWarmUp(@Nonnull Project project)
+	{
+		new Task.Backgroundable(project, MonoDotNetLocalize.documentationLoadingProgress(), true)
+		{
+			@Override
+			public void run(@Nonnull ProgressIndicator indicator)
+			{
+				while(true)
+				{
+					List<VirtualFile> directories;
+					synchronized(myWarmUpDirectories)
+					{
+						if(myWarmUpDirectories.isEmpty())
+						{
+							return;
+						}
+						directories = new ArrayList<>(myWarmUpDirectories);
+						myWarmUpDirectories.clear();
+					}
+
+					for(VirtualFile directory : directories)
+					{
+						if(!directory.isValid())
+						{
+							continue;
+						}
+
+						for(VirtualFile sourceFile : ReadAction.compute(directory::getChildren))
+						{
+							indicator.checkCanceled();
+
+							if(Comparing.equal(sourceFile.getExtension(), "source") && !myCache.containsKey(sourceFile))
+							{
+								indicator.setText2(sourceFile.getPresentableUrl());
+
+								MonodocTree[] trees = loadTrees(sourceFile);
+								if(trees.length > 0 && myCache.putIfAbsent(sourceFile, trees) != null)
+								{
+									closeTrees(trees);
+								}
+							}
+						}
+					}
+				}
+			}
+
+			@Override
+			public void onCancel()
+			{
+				synchronized(myWarmUpDirectories)
+				{
+					myWarmUpDirectories.clear();
+				}
+			}
+
+			@Override
+			public void onFinished()
+			{
+				boolean requeue;
+				synchronized(myWarmUpDirectories)
+				{
+					// directories could be added after task stopped polling
+					requeue = !myWarmUpDirectories.isEmpty() && !project.isDisposed();
+					myWarmUpRunning = requeue;
+				}
+
+				if(requeue)
+				{
+					queueWarmUp(project);
+				}
+			}
+		}.queue();
+	}
 
 	@RequiredReadAction
 	@Nullable
@@ -78,6 +289,12 @@ public class MonoDocumentationResolver implements DotNetDocumentationResolver
 		{
 			return null;
 		}
+		long releaseCount;
+		synchronized(myNegativeCache)
+		{
+			releaseCount = myReleaseCount;
+		}
+
 		MonodocTree[] trees = myCache.get(virtualFile);
 		if(trees == null)
 		{
@@ -86,43 +303,212 @@ public class MonoDocumentationResolver implements DotNetDocumentationResolver
 			{
 				return null;
 			}
-			myCache.put(virtualFile, trees);
+			MonodocTree[] oldTrees = myCache.putIfAbsent(virtualFile, trees);
+			if(oldTrees != null)
+			{
+				closeTrees(trees);
+				trees = oldTrees;
+			}
 		}
 
-		String namespace = null;
-		String className = null;
-		String memberName = null;
-		// FIXME [VISTALL] nested types?
+		DotNetTypeDeclaration typeDeclaration;
+		String memberSignature = null;
 		if(element instanceof DotNetTypeDeclaration)
 		{
-			namespace = ((DotNetTypeDeclaration) element).getPresentableParentQName();
-			className = ((DotNetTypeDeclaration) element).getName();
+			typeDeclaration = (DotNetTypeDeclaration) element;
 		}
 		else if(element instanceof DotNetQualifiedElement)
 		{
-			if(element instanceof DotNetMethodDeclaration)
+			typeDeclaration = PsiTreeUtil.getParentOfType(element, DotNetTypeDeclaration.class);
+			memberSignature = getMemberSignature((DotNetQualifiedElement) element);
+			if(memberSignature == null)
 			{
-				namespace = ((DotNetMethodDeclaration) element).getPresentableParentQName();
-				className = ((DotNetMethodDeclaration) element).getName();
+				return null;
 			}
 		}
+		else
+		{
+			return null;
+		}
 
-		if(className == null)
+		if(typeDeclaration == null)
 		{
 			return null;
 		}
 
+		// nested types are documented as 'Outer+Inner', in namespace of top level type
+		DotNetTypeDeclaration topLevelType = typeDeclaration;
+		StringBuilder typeName = new StringBuilder(getTypeName(typeDeclaration));
+		DotNetTypeDeclaration parentType;
+		while((parentType = PsiTreeUtil.getParentOfType(topLevelType, DotNetTypeDeclaration.class)) != null)
+		{
+			typeName.insert(0, '+').insert(0, getTypeName(parentType));
+			topLevelType = parentType;
+		}
+
+		String namespace = topLevelType.getPresentableParentQName();
+		if(namespace == null)
+		{
+			return null;
+		}
+
+		NegativeKey negativeKey = new NegativeKey(virtualFile, namespace, memberSignature == null ? typeName.toString() : typeName + "#" + memberSignature);
+		synchronized(myNegativeCache)
+		{
+			if(myNegativeCache.containsKey(negativeKey))
+			{
+				return null;
+			}
+		}
+
 		for(MonodocTree tree : trees)
 		{
-			ITypeDocumentation documentation = tree.findDocumentation(namespace, className);
+			IDocumentation documentation;
+			if(memberSignature == null)
+			{
+				documentation = tree.findDocumentation(namespace, typeName.toString());
+			}
+			else
+			{
+				documentation = tree.findMemberDocumentation(namespace, typeName.toString(), memberSignature);
+			}
+
 			if(documentation != null)
 			{
 				return documentation;
 			}
 		}
+
+		synchronized(myNegativeCache)
+		{
+			if(releaseCount == myReleaseCount)
+			{
+				myNegativeCache.put(negativeKey, Boolean.TRUE);
+			}
+		}
 		return null;
 	}
 
+	/**
+	 * Drop loaded trees and lookups without result of .source files, if any monodoc file in their directory is changed
+	 */
+	public void filesChanged(@Nonnull List<? extends VFileEvent> events)
+	{
+		Set<String> changedDirectories = new HashSet<>();
+		for(VFileEvent event : events)
+		{
+			String path = event.getPath();
+			if(path.endsWith(".source") || path.endsWith(".tree") || path.endsWith(".zip"))
+			{
+				String parentPath = new File(path).getParent();
+				if(parentPath != null)
+				{
+					changedDirectories.add(FileUtil.toSystemIndependentName(parentPath));
+				}
+			}
+		}
+
+		if(changedDirectories.isEmpty())
+		{
+			return;
+		}
+
+		release(changedDirectories);
+	}
+
+	/**
+	 * Close trees and drop lookups of .source files from documentation directory of removed sdk
+	 */
+	public void sdkRemoved(@Nonnull VirtualFile documentationDirectory)
+	{
+		release(Set.of(documentationDirectory.getPath()));
+	}
+
+	private void release(@Nonnull Set<String> directories)
+	{
+		Iterator<Map.Entry<VirtualFile, MonodocTree[]>> iterator = myCache.entrySet().iterator();
+		while(iterator.hasNext())
+		{
+			Map.Entry<VirtualFile, MonodocTree[]> entry = iterator.next();
+			if(isInDirectories(entry.getKey(), directories))
+			{
+				iterator.remove();
+				closeTrees(entry.getValue());
+			}
+		}
+
+		synchronized(myNegativeCache)
+		{
+			myReleaseCount++;
+			myNegativeCache.keySet().removeIf(key -> isInDirectories(key.mySourceFile, directories));
+		}
+	}
+
+	private static void closeTrees(@Nonnull MonodocTree[] trees)
+	{
+		for(MonodocTree tree : trees)
+		{
+			tree.close();
+		}
+	}
+
+	private static boolean isInDirectories(@Nonnull VirtualFile sourceFile, @Nonnull Set<String> directories)
+	{
+		VirtualFile parent = sourceFile.getParent();
+		return parent != null && directories.contains(parent.getPath());
+	}
+
+	@Nonnull
+	@RequiredReadAction
+	private static String getTypeName(@Nonnull DotNetTypeDeclaration typeDeclaration)
+	{
+		int genericParametersCount = typeDeclaration.getGenericParametersCount();
+		return genericParametersCount == 0 ? typeDeclaration.getName() : typeDeclaration.getName() + "`" + genericParametersCount;
+	}
+
+	/**
+	 * @return member signature in form of monodoc member index: '.ctor' for constructors, converted 'Name(Type, Type)' for methods, name for other members
+	 */
+	@Nullable
+	@RequiredReadAction
+	private static String getMemberSignature(@Nonnull DotNetQualifiedElement element)
+	{
+		if(element instanceof DotNetConstructorDeclaration)
+		{
+			return ((DotNetConstructorDeclaration) element).isDeConstructor() ? "Finalize()" : ".ctor";
+		}
+
+		String name = element.getName();
+		if(name == null)
+		{
+			return null;
+		}
+
+		if(element instanceof DotNetMethodDeclaration)
+		{
+			DotNetParameter[] parameters = ((DotNetMethodDeclaration) element).getParameters();
+			if(parameters.length == 0)
+			{
+				return name + "()";
+			}
+
+			StringBuilder builder = new StringBuilder(name);
+			builder.append('(');
+			for(int i = 0; i < parameters.length; i++)
+			{
+				if(i > 0)
+				{
+					builder.append(',');
+				}
+				DotNetType type = parameters[i].getType();
+				builder.append(type == null ? "?" : type.getText());
+			}
+			builder.append(')');
+			return CodeHierarchyHelper.convertSignature(builder.toString());
+		}
+		return name;
+	}
+
 	private MonodocTree[] loadTrees(VirtualFile virtualFile)
 	{
 		List<MonodocTree> trees = new ArrayList<MonodocTree>(2);
@@ -142,9 +528,10 @@ public class MonoDocumentationResolver implements DotNetDocumentationResolver
 				{
 					continue;
 				}
-				MonodocTree tree = new MonodocTree(VirtualFileUtil.virtualToIoFile(treeFile), VirtualFileUtil.virtualToIoFile(zipFile));
+				File treeIoFile = VirtualFileUtil.virtualToIoFile(treeFile);
+				MonodocTree tree = new MonodocTree(treeIoFile, VirtualFileUtil.virtualToIoFile(zipFile), getIndexFile(treeIoFile));
 
-				tree.loadNode();
+				tree.loadIndexed();
 
 				trees.add(tree);
 			}
@@ -155,4 +542,12 @@ public class MonoDocumentationResolver implements DotNetDocumentationResolver
 		}
 		return trees.toArray(new MonodocTree[trees.size()]);
 	}
+
+	@Nonnull
+	private static File getIndexFile(@Nonnull File treeFile)
+	{
+		// tree path & timestamps are validated by index itself, name only need to be unique
+		String name = FileUtil.getNameWithoutExtension(treeFile) + "_" + Integer.toHexString(FileUtil.toSystemIndependentName(treeFile.getAbsolutePath()).hashCode()) + ".index";
+		return new File(ContainerPathManager.get().getSystemPath(), "monodoc/" + name);
+	}
 }
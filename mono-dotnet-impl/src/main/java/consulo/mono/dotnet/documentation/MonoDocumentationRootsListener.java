@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.documentation;
+
+import consulo.annotation.access.RequiredReadAction;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.TopicImpl;
+import consulo.module.content.layer.event.ModuleRootEvent;
+import consulo.module.content.layer.event.ModuleRootListener;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.inject.Inject;
+
+import jakarta.annotation.Nonnull;
+import java.util.Set;
+
+/**
+ * Loads monodoc trees of Mono sdk, when documentation directories of module sdks are changed
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@TopicImpl(ComponentScope.PROJECT)
+public class MonoDocumentationRootsListener implements ModuleRootListener
+{
+	private final Project myProject;
+
+	// documentation directories seen on last roots change, other root changes do not need warm up
+	private Set<VirtualFile> myDocumentationDirectories;
+
+	@Inject
+	public MonoDocumentationRootsListener(Project project)
+	{
+		myProject = project;
+	}
+
+	@Override
+	@RequiredReadAction
+	public void rootsChanged(@Nonnull ModuleRootEvent event)
+	{
+		Set<VirtualFile> documentationDirectories = MonoDocumentationResolver.collectDocumentationDirectories(myProject);
+		if(documentationDirectories.equals(myDocumentationDirectories))
+		{
+			return;
+		}
+
+		myDocumentationDirectories = documentationDirectories;
+		MonoDocumentationResolver.getInstance().warmUp(myProject, documentationDirectories);
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.documentation;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.TopicImpl;
+import consulo.content.bundle.Sdk;
+import consulo.content.bundle.SdkTableListener;
+import consulo.mono.dotnet.sdk.MonoSdkType;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Closes monodoc trees of removed Mono sdk
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@TopicImpl(ComponentScope.APPLICATION)
+public class MonoDocumentationSdkListener implements SdkTableListener
+{
+	@Override
+	public void beforeSdkRemoved(@Nonnull Sdk sdk)
+	{
+		if(!(sdk.getSdkType() instanceof MonoSdkType))
+		{
+			return;
+		}
+
+		VirtualFile documentationDirectory = MonoSdkType.findDocumentationDirectory(sdk);
+		if(documentationDirectory != null)
+		{
+			MonoDocumentationResolver.getInstance().sdkRemoved(documentationDirectory);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.mono.dotnet.documentation;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.application.ReadAction;
+import consulo.project.Project;
+import consulo.project.startup.PostStartupActivity;
+import consulo.ui.UIAccess;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Loads monodoc trees of Mono sdk, after project is opened
+ *
+ * @author VISTALL
+ * @since 18.10.2026
+ */
+@ExtensionImpl
+public class MonoDocumentationStartupActivity implements PostStartupActivity
+{
+	@Override
+	public void runActivity(@Nonnull Project project, @Nonnull UIAccess uiAccess)
+	{
+		ReadAction.run(() -> MonoDocumentationResolver.getInstance().warmUp(project));
+	}
+}
@@ -99,11 +99,7 @@ public class MonoDotNetModuleExtension extends BaseDotNetModuleExtension<MonoDot
         if (DocumentationOrderRootType.ID.equals(orderRootType)) {
             String[] systemLibraryUrls = super.getSystemLibraryUrlsImpl(sdk, name, orderRootType);
 
-            VirtualFile homeDirectory = sdk.getHomeDirectory();
-            if (homeDirectory == null) {
-                return systemLibraryUrls;
-            }
-            VirtualFile docDir = homeDirectory.findFileByRelativePath("/../../monodoc/sources");
+            VirtualFile docDir = MonoSdkType.findDocumentationDirectory(sdk);
             if (docDir == null) {
                 return systemLibraryUrls;
             }
@@ -91,6 +91,18 @@ public class MonoSdkType extends DotNetSdkType implements SdkTypeWithCustomCreat
         return Application.get().getExtensionPoint(SdkType.class).findExtensionOrFail(MonoSdkType.class);
     }
 
+    /**
+     * @return directory with monodoc .source/.tree/.zip files of sdk
+     */
+    @Nullable
+    public static VirtualFile findDocumentationDirectory(@Nonnull Sdk sdk) {
+        VirtualFile homeDirectory = sdk.getHomeDirectory();
+        if (homeDirectory == null) {
+            return null;
+        }
+        return homeDirectory.findFileByRelativePath("/../../monodoc/sources");
+    }
+
     public MonoSdkType() {
         super("MONO_DOTNET_SDK", LocalizeValue.localizeTODO("Mono"), MonoDotNetIconGroup.mono());
     }
@@ -14,118 +14,237 @@ package org.emonic.monodoc;
 import java.io.DataInput;
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Reader of monodoc .tree file. File is read to heap buffer at once (trees are small), and all reads are served from it without syscalls.
+ * File is not mapped, so it is not locked after open and can be updated or removed with sdk.
+ * Decoding is same as RandomAccessFile version: ints and unsigned shorts are little-endian (like in .NET BinaryReader),
+ * other primitives follow {@link DataInput} contract.
+ * <p/>
+ * Instance is not thread-safe, threads must read via own cursor from {@link #duplicate(long)}
+ */
 class DataInputImpl implements DataInput
 {
-	private RandomAccessFile file;
+	private ByteBuffer buffer;
 
-	DataInputImpl(File sourceFile) throws FileNotFoundException
+	DataInputImpl(File sourceFile) throws IOException
 	{
-		file = new RandomAccessFile(sourceFile, "r"); //$NON-NLS-1$
+		try(FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE)
+			{
+				throw new IOException("Tree file is too big: " + sourceFile);
+			}
+
+			ByteBuffer heapBuffer = ByteBuffer.allocate((int) size);
+			while(heapBuffer.hasRemaining())
+			{
+				if(channel.read(heapBuffer) < 0)
+				{
+					throw new EOFException();
+				}
+			}
+			heapBuffer.flip();
+			buffer = heapBuffer.order(ByteOrder.BIG_ENDIAN);
+		}
+	}
+
+	private DataInputImpl(ByteBuffer buffer)
+	{
+		this.buffer = buffer;
+	}
+
+	/**
+	 * @return new reader positioned at pos, sharing memory with this one but with own position
+	 */
+	DataInputImpl duplicate(long pos) throws IOException
+	{
+		DataInputImpl reader = new DataInputImpl(buffer().duplicate().order(ByteOrder.BIG_ENDIAN));
+		reader.seek(pos);
+		return reader;
 	}
 
 	void close() throws IOException
 	{
-		file.close();
+		// file channel is closed after read, only memory is left
+		buffer = null;
 	}
 
 	int read(byte[] b) throws IOException
 	{
-		return file.read(b);
+		ByteBuffer buffer = buffer();
+		int remaining = buffer.remaining();
+		if(remaining == 0)
+		{
+			return b.length == 0 ? 0 : -1;
+		}
+		int len = Math.min(b.length, remaining);
+		buffer.get(b, 0, len);
+		return len;
 	}
 
 	@Override
 	public final boolean readBoolean() throws IOException
 	{
-		return file.readBoolean();
+		return readUnsignedByte() != 0;
 	}
 
 	@Override
 	public final byte readByte() throws IOException
 	{
-		return file.readByte();
+		try
+		{
+			return buffer().get();
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
 	@Override
 	public final char readChar() throws IOException
 	{
-		return file.readChar();
+		try
+		{
+			return buffer().getChar();
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
 	@Override
 	public final double readDouble() throws IOException
 	{
-		return file.readDouble();
+		return Double.longBitsToDouble(readLong());
 	}
 
 	@Override
 	public final float readFloat() throws IOException
 	{
-		return file.readFloat();
+		return Float.intBitsToFloat(readBigEndianInt());
 	}
 
 	@Override
 	public final void readFully(byte[] b, int off, int len) throws IOException
 	{
-		file.readFully(b, off, len);
+		try
+		{
+			buffer().get(b, off, len);
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
 	@Override
 	public final void readFully(byte[] b) throws IOException
 	{
-		file.readFully(b);
+		readFully(b, 0, b.length);
 	}
 
 	@Override
 	public final int readInt() throws IOException
 	{
-		int ch1 = file.read();
-		int ch2 = file.read();
-		int ch3 = file.read();
-		int ch4 = file.read();
-		if((ch1 | ch2 | ch3 | ch4) < 0)
+		ByteBuffer buffer = buffer();
+		if(buffer.remaining() < 4)
 		{
 			throw new EOFException();
 		}
+		int pos = buffer.position();
+		int ch1 = buffer.get(pos) & 0xFF;
+		int ch2 = buffer.get(pos + 1) & 0xFF;
+		int ch3 = buffer.get(pos + 2) & 0xFF;
+		int ch4 = buffer.get(pos + 3) & 0xFF;
+		buffer.position(pos + 4);
 		return ((ch1 << 0) + (ch2 << 8) + (ch3 << 16) + (ch4 << 24));
 	}
 
 	@Override
 	public final String readLine() throws IOException
 	{
-		return file.readLine();
+		ByteBuffer buffer = buffer();
+		if(!buffer.hasRemaining())
+		{
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder();
+		while(buffer.hasRemaining())
+		{
+			int c = buffer.get() & 0xFF;
+			if(c == '\n')
+			{
+				break;
+			}
+			if(c == '\r')
+			{
+				if(buffer.hasRemaining() && buffer.get(buffer.position()) == '\n')
+				{
+					buffer.get();
+				}
+				break;
+			}
+			builder.append((char) c);
+		}
+		return builder.toString();
 	}
 
 	@Override
 	public final long readLong() throws IOException
 	{
-		return file.readLong();
+		try
+		{
+			return buffer().getLong();
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
 	@Override
 	public final short readShort() throws IOException
 	{
-		return file.readShort();
+		try
+		{
+			return buffer().getShort();
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
 	@Override
 	public final int readUnsignedByte() throws IOException
 	{
-		return file.readUnsignedByte();
+		return readByte() & 0xFF;
 	}
 
 	@Override
 	public final int readUnsignedShort() throws IOException
 	{
-		int ch1 = file.read();
-		int ch2 = file.read();
-		if((ch1 | ch2) < 0)
+		ByteBuffer buffer = buffer();
+		if(buffer.remaining() < 2)
 		{
 			throw new EOFException();
 		}
+		int pos = buffer.position();
+		int ch1 = buffer.get(pos) & 0xFF;
+		int ch2 = buffer.get(pos + 1) & 0xFF;
+		buffer.position(pos + 2);
 		return (ch1 << 0) + (ch2 << 8);
 	}
 
@@ -151,20 +270,56 @@ class DataInputImpl implements DataInput
 	public final String readUTF() throws IOException
 	{
 		int utflen = read7BitEncodedInt();
-		byte[] bytearr = new byte[utflen];
-		int read = file.read(bytearr);
-		return new String(bytearr, 0, read, "UTF-8"); //$NON-NLS-1$
+		ByteBuffer buffer = buffer();
+		int read = Math.min(utflen, buffer.remaining());
+		byte[] bytearr = new byte[read];
+		buffer.get(bytearr);
+		return new String(bytearr, 0, read, StandardCharsets.UTF_8);
 	}
 
 	void seek(long pos) throws IOException
 	{
-		file.seek(pos);
+		ByteBuffer buffer = buffer();
+		if(pos < 0)
+		{
+			throw new IOException("Negative seek offset");
+		}
+		// like RandomAccessFile, seek after end is allowed - next read will fail with EOF
+		buffer.position((int) Math.min(pos, buffer.limit()));
 	}
 
 	@Override
 	public int skipBytes(int n) throws IOException
 	{
-		return file.skipBytes(n);
+		ByteBuffer buffer = buffer();
+		if(n <= 0)
+		{
+			return 0;
+		}
+		int skip = Math.min(n, buffer.remaining());
+		buffer.position(buffer.position() + skip);
+		return skip;
+	}
+
+	private int readBigEndianInt() throws IOException
+	{
+		try
+		{
+			return buffer().getInt();
+		}
+		catch(BufferUnderflowException e)
+		{
+			throw new EOFException();
+		}
 	}
 
+	private ByteBuffer buffer() throws IOException
+	{
+		ByteBuffer buffer = this.buffer;
+		if(buffer == null)
+		{
+			throw new IOException("Stream closed");
+		}
+		return buffer;
+	}
 }
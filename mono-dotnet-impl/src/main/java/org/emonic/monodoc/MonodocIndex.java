@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.emonic.monodoc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent index of monodoc tree: (namespace, type name) -> zip entry name.
+ * Stored as sorted table, memory-mapped and searched by binary search, so lookup need no tree walking.
+ * Index is valid only for same tree & zip files (path, length and timestamp are stored in header)
+ * <p/>
+ * Layout: magic, version, tree path, tree length, tree timestamp, zip length, zip timestamp,
+ * count, record offsets[count], records (key length, key, value length, value). Keys are sorted as unsigned bytes
+ */
+public final class MonodocIndex
+{
+	private static final int MAGIC = 0x4D444958; // MDIX
+	private static final int VERSION = 1;
+
+	private static final char KEY_SEPARATOR = '\u0000';
+
+	private final ByteBuffer buffer;
+	private final int count;
+	private final int offsetsStart;
+
+	private MonodocIndex(ByteBuffer buffer, int count, int offsetsStart)
+	{
+		this.buffer = buffer;
+		this.count = count;
+		this.offsetsStart = offsetsStart;
+	}
+
+	/**
+	 * @return mapped index, or null if index file is absent, broken or built for other tree/zip version
+	 */
+	public static MonodocIndex load(File indexFile, File treeFile, File zipFile)
+	{
+		if(!indexFile.isFile())
+		{
+			return null;
+		}
+
+		try(FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			{
+				return null;
+			}
+
+			String treePath = readString(buffer);
+			if(!treePath.equals(treeFile.getAbsolutePath()))
+			{
+				return null;
+			}
+
+			if(buffer.getLong() != treeFile.length() || buffer.getLong() != treeFile.lastModified())
+			{
+				return null;
+			}
+
+			if(buffer.getLong() != zipFile.length() || buffer.getLong() != zipFile.lastModified())
+			{
+				return null;
+			}
+
+			int count = buffer.getInt();
+			if(count < 0 || buffer.remaining() < count * 4)
+			{
+				return null;
+			}
+			return new MonodocIndex(buffer, count, buffer.position());
+		}
+		catch(IOException | RuntimeException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Writes index for entries. File is written to temp file, and moved after, so concurrent readers never see partial index
+	 *
+	 * @param entries namespace name -> (type name -> zip entry)
+	 */
+	public static void write(File indexFile, File treeFile, File zipFile, Map<String, Map<String, String>> entries) throws IOException
+	{
+		List<byte[][]> records = new ArrayList<byte[][]>();
+		for(Map.Entry<String, Map<String, String>> namespaceEntry : entries.entrySet())
+		{
+			for(Map.Entry<String, String> typeEntry : namespaceEntry.getValue().entrySet())
+			{
+				byte[] key = toKey(namespaceEntry.getKey(), typeEntry.getKey());
+				byte[] value = typeEntry.getValue().getBytes(StandardCharsets.UTF_8);
+				records.add(new byte[][]{key, value});
+			}
+		}
+
+		records.sort((o1, o2) -> Arrays.compareUnsigned(o1[0], o2[0]));
+
+		File parent = indexFile.getParentFile();
+		if(parent != null && !parent.isDirectory() && !parent.mkdirs())
+		{
+			throw new IOException("Can't create " + parent);
+		}
+
+		byte[] treePath = treeFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+		int headerSize = 4 + 4 + 4 + treePath.length + 8 * 4 + 4;
+
+		File tempFile = new File(indexFile.getPath() + ".tmp");
+		try
+		{
+			writeRecords(tempFile, treePath, headerSize, treeFile, zipFile, records);
+			try
+			{
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException e)
+			{
+				// temp file is in same directory, plain move is still a rename on most file systems
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private static void writeRecords(File file, byte[] treePath, int headerSize, File treeFile, File zipFile, List<byte[][]> records) throws IOException
+	{
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(treePath.length);
+			out.write(treePath);
+			out.writeLong(treeFile.length());
+			out.writeLong(treeFile.lastModified());
+			out.writeLong(zipFile.length());
+			out.writeLong(zipFile.lastModified());
+			out.writeInt(records.size());
+
+			int offset = headerSize + records.size() * 4;
+			for(byte[][] record : records)
+			{
+				out.writeInt(offset);
+				offset += 4 + record[0].length + 4 + record[1].length;
+			}
+
+			for(byte[][] record : records)
+			{
+				out.writeInt(record[0].length);
+				out.write(record[0]);
+				out.writeInt(record[1].length);
+				out.write(record[1]);
+			}
+		}
+	}
+
+	/**
+	 * @return zip entry name, or null if type is not in index
+	 */
+	public String findEntry(String namespaceName, String typeName)
+	{
+		byte[] key = toKey(namespaceName, typeName);
+
+		int low = 0;
+		int high = count - 1;
+		while(low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int recordOffset = buffer.getInt(offsetsStart + mid * 4);
+
+			int cmp = compareKey(recordOffset, key);
+			if(cmp < 0)
+			{
+				low = mid + 1;
+			}
+			else if(cmp > 0)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				int keyLength = buffer.getInt(recordOffset);
+				int valueOffset = recordOffset + 4 + keyLength;
+				int valueLength = buffer.getInt(valueOffset);
+				byte[] value = new byte[valueLength];
+				ByteBuffer slice = buffer.duplicate();
+				slice.position(valueOffset + 4);
+				slice.get(value);
+				return new String(value, StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	public int size()
+	{
+		return count;
+	}
+
+	private int compareKey(int recordOffset, byte[] key)
+	{
+		int keyLength = buffer.getInt(recordOffset);
+		int start = recordOffset + 4;
+		int length = Math.min(keyLength, key.length);
+		for(int i = 0; i < length; i++)
+		{
+			int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+			if(cmp != 0)
+			{
+				return cmp;
+			}
+		}
+		return keyLength - key.length;
+	}
+
+	private static byte[] toKey(String namespaceName, String typeName)
+	{
+		return (namespaceName + KEY_SEPARATOR + typeName).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String readString(ByteBuffer buffer)
+	{
+		int length = buffer.getInt();
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -16,7 +16,8 @@ import java.io.IOException;
 class MonodocNode
 {
 	protected MonodocTree tree;
-	protected int position;
+	// negative if node is not loaded yet. Written last in loadNode(), so positive position means element & nodes are visible
+	protected volatile int position;
 	protected MonodocNode[] nodes;
 
 	private String element;
@@ -72,30 +73,31 @@ class MonodocNode
 
 	public void loadNode() throws IOException
 	{
-		if(position < 0)
-		{
-			position = -position;
-		}
+		int address = position < 0 ? -position : position;
 
-		DataInputImpl file = tree.getFile();
-		file.seek(position);
+		// own cursor over shared tree buffer, so nodes can be loaded by several threads at once without lock.
+		// if two threads load same node, both produce same data
+		DataInputImpl file = tree.getFile().duplicate(address);
 		int count = decodeInt(file);
 
-		element = file.readUTF();
+		String element = file.readUTF();
 		file.readUTF();
 
-		if(count == 0)
-		{
-			return;
-		}
-
-		nodes = new MonodocNode[count];
-		for(int i = 0; i < count; i++)
+		MonodocNode[] nodes = null;
+		if(count > 0)
 		{
-			int child_address = decodeInt(file);
+			nodes = new MonodocNode[count];
+			for(int i = 0; i < count; i++)
+			{
+				int child_address = decodeInt(file);
 
-			nodes[i] = new MonodocNode(this, -child_address);
+				nodes[i] = new MonodocNode(this, -child_address);
+			}
 		}
+
+		this.element = element;
+		this.nodes = nodes;
+		position = address;
 	}
 
 	private static int decodeInt(DataInputImpl reader) throws IOException
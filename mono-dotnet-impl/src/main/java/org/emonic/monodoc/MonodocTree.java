@@ -11,29 +11,79 @@
  ******************************************************************************/
 package org.emonic.monodoc;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.emonic.base.codehierarchy.CodeHierarchyHelper;
 import org.emonic.base.documentation.Documentation;
+import org.emonic.base.documentation.IDocumentation;
 import org.emonic.base.documentation.ITypeDocumentation;
 import org.emonic.base.documentation.TypeDocumentation;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
 
 //import org.emonic.base.codehierarchy.AssemblyParser;
 
-public final class MonodocTree extends MonodocNode
+/**
+ * Tree must be closed by owner via {@link #close()}. If tree become unreachable without close, files are closed by cleaner
+ */
+public final class MonodocTree extends MonodocNode implements Closeable
 {
-	private DataInputImpl input;
+	private static final Cleaner cleaner = Cleaner.create();
+
+	private static final int PARSED_CACHE_SIZE = 64;
+
+	private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+	private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>()
+	{
+		@Override
+		protected DocumentBuilder initialValue()
+		{
+			try
+			{
+				return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+			}
+			catch(ParserConfigurationException e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	// not referencing tree, so cleaner can close files of unreachable tree
+	private final Resources resources = new Resources();
+
+	private final Cleaner.Cleanable cleanable = cleaner.register(this, resources);
+
+	// zip entry name -> parsed documentation, least recently used are evicted
+	private final Map<String, ParsedType> parsedCache = new LinkedHashMap<String, ParsedType>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ParsedType> eldest)
+		{
+			return size() > PARSED_CACHE_SIZE;
+		}
+	};
 
 	private File sourceFile;
 
@@ -41,10 +91,70 @@ public final class MonodocTree extends MonodocNode
 
 	private long lastSourceModified;
 
+	// namespace name -> namespace nodes, built on first lookup
+	private volatile Map<String, List<MonodocNode>> namespaceIndex;
+
+	// namespace name -> (type name -> zip entry), filled lazily per namespace
+	private final Map<String, Map<String, String>> typeEntries = new ConcurrentHashMap<String, Map<String, String>>();
+
+	private File indexFile;
+
+	// persistent index, if present tree nodes are not loaded at all
+	private volatile MonodocIndex index;
+
 	public MonodocTree(File sourceFile, File zipFile)
+	{
+		this(sourceFile, zipFile, null);
+	}
+
+	/**
+	 * @param indexFile file of persistent {@link MonodocIndex}, will be created if absent or stale
+	 */
+	public MonodocTree(File sourceFile, File zipFile, File indexFile)
 	{
 		this.sourceFile = sourceFile;
 		this.zipFile = zipFile;
+		this.indexFile = indexFile;
+	}
+
+	/**
+	 * Load tree via persistent index. If index is valid tree nodes are not read, otherwise tree is loaded and index is written
+	 */
+	public void loadIndexed() throws IOException
+	{
+		if(indexFile == null)
+		{
+			loadNode();
+			return;
+		}
+
+		MonodocIndex index = MonodocIndex.load(indexFile, sourceFile, zipFile);
+		if(index != null)
+		{
+			this.index = index;
+			return;
+		}
+
+		loadNode();
+
+		Map<String, Map<String, String>> entries = new HashMap<String, Map<String, String>>();
+		for(String namespaceName : getNamespaceIndex().keySet())
+		{
+			Map<String, String> types = getTypeEntries(namespaceName);
+			if(types != null)
+			{
+				entries.put(namespaceName, types);
+			}
+		}
+
+		try
+		{
+			MonodocIndex.write(indexFile, sourceFile, zipFile, entries);
+		}
+		catch(IOException ignored)
+		{
+			// index is optimization only
+		}
 	}
 
 	@Override
@@ -55,7 +165,7 @@ public final class MonodocTree extends MonodocNode
 		long lastSourceModified = sourceFile.lastModified();
 		if(lastSourceModified > this.lastSourceModified)
 		{
-			input = new DataInputImpl(sourceFile);
+			DataInputImpl input = resources.open(sourceFile);
 			byte[] sig = new byte[4];
 			input.read(sig);
 
@@ -70,182 +180,406 @@ public final class MonodocTree extends MonodocNode
 			tree = this;
 			super.loadNode();
 
+			namespaceIndex = null;
+			typeEntries.clear();
+			synchronized(parsedCache)
+			{
+				parsedCache.clear();
+			}
+			resources.closeZip();
+
 			this.lastSourceModified = lastSourceModified;
 		}
 		else
 		{
-			input = new DataInputImpl(sourceFile);
+			// file is not changed - keep current reader, open only if there is none
+			resources.getOrOpen(sourceFile);
 		}
 	}
 
-	DataInputImpl getFile()
+	DataInputImpl getFile() throws IOException
 	{
+		DataInputImpl input = resources.input;
+		if(input == null)
+		{
+			throw new IOException("Tree is closed");
+		}
 		return input;
 	}
 
-	void close()
+	/**
+	 * Close tree file and documentation zip. Tree can't be used after it
+	 */
+	@Override
+	public void close()
 	{
-		try
+		cleanable.clean();
+	}
+
+	public ITypeDocumentation findDocumentation(String namespaceName, String typeName)
+	{
+		String entry = findEntry(namespaceName, typeName);
+		if(entry == null)
 		{
-			input.close();
+			return null;
 		}
-		catch(IOException e)
+		ParsedType parsedType = find(entry);
+		return parsedType == null ? null : parsedType.documentation;
+	}
+
+	/**
+	 * Member lookup via member index of parsed type.
+	 * If there is no member with same signature, first overload with same name and parameter count is returned, after it first overload with same name
+	 *
+	 * @param signature converted member signature, like in {@link IDocumentation} of type members ('Name(int, string)' for methods, 'Name' for other members)
+	 * @return member documentation, or null if type or member is not documented in this tree
+	 */
+	public IDocumentation findMemberDocumentation(String namespaceName, String typeName, String signature)
+	{
+		String entry = findEntry(namespaceName, typeName);
+		if(entry == null)
 		{
-			// ignored
+			return null;
 		}
+		ParsedType parsedType = find(entry);
+		return parsedType == null ? null : parsedType.findMember(signature);
 	}
 
-	@Override
-	protected void finalize() throws Throwable
+	/**
+	 * @return name of zip entry with documentation of type, or null if type is not documented in this tree
+	 */
+	String findEntry(String namespaceName, String typeName)
 	{
-		close();
-		super.finalize();
+		if(namespaceName == null || typeName == null)
+		{
+			return null;
+		}
+		MonodocIndex index = this.index;
+		if(index != null)
+		{
+			return index.findEntry(namespaceName, typeName);
+		}
+		Map<String, String> types = getTypeEntries(namespaceName);
+		return types == null ? null : types.get(typeName);
 	}
 
-	public ITypeDocumentation findDocumentation(String namespaceName, String typeName)
+	private Map<String, String> getTypeEntries(String namespaceName)
 	{
-		for(int i = 0; i < nodes.length; i++)
+		Map<String, String> types = typeEntries.get(namespaceName);
+		if(types != null)
+		{
+			return types;
+		}
+
+		// closed tree - don't try to load nodes
+		if(resources.input == null)
 		{
-			MonodocNode node = nodes[i];
+			return null;
+		}
 
-			String element = node.getElement();
-			if(element != null)
+		List<MonodocNode> namespaceNodes = getNamespaceIndex().get(namespaceName);
+		if(namespaceNodes == null)
+		{
+			return null;
+		}
+
+		types = new HashMap<String, String>();
+		for(MonodocNode namespaceNode : namespaceNodes)
+		{
+			MonodocNode[] childNodes = namespaceNode.getNodes();
+			if(childNodes == null)
 			{
-				if(element.substring(2).equals(namespaceName))
+				continue;
+			}
+			for(int j = 0; j < childNodes.length; j++)
+			{
+				String name = childNodes[j].getElement();
+				if(name == null)
 				{
-					MonodocNode[] childNodes = node.getNodes();
-					for(int j = 0; j < childNodes.length; j++)
+					continue;
+				}
+				int pidx = name.indexOf('#');
+				int sidx = name.lastIndexOf('/');
+				if(sidx <= pidx)
+				{
+					continue;
+				}
+				String cname = name.substring(pidx + 1, sidx);
+				int cidx = name.indexOf(':');
+				// first node wins, like in linear scan
+				if(!types.containsKey(cname) && cidx < pidx)
+				{
+					types.put(cname, name.substring(cidx + 1, pidx));
+				}
+			}
+		}
+
+		Map<String, String> old = typeEntries.putIfAbsent(namespaceName, types);
+		return old == null ? types : old;
+	}
+
+	private Map<String, List<MonodocNode>> getNamespaceIndex()
+	{
+		Map<String, List<MonodocNode>> index = namespaceIndex;
+		if(index == null)
+		{
+			index = new HashMap<String, List<MonodocNode>>();
+			if(nodes != null)
+			{
+				for(int i = 0; i < nodes.length; i++)
+				{
+					MonodocNode node = nodes[i];
+
+					String element = node.getElement();
+					if(element == null || element.length() < 2)
 					{
-						String name = childNodes[j].getElement();
-						int pidx = name.indexOf('#');
-						int sidx = name.lastIndexOf('/');
-						String cname = name.substring(pidx + 1, sidx);
-						if(cname.equals(typeName))
-						{
-							int cidx = name.indexOf(':');
-							return find(name.substring(cidx + 1, pidx));
-						}
+						continue;
+					}
+					String namespaceName = element.substring(2);
+					List<MonodocNode> list = index.get(namespaceName);
+					if(list == null)
+					{
+						list = new ArrayList<MonodocNode>(1);
+						index.put(namespaceName, list);
 					}
+					list.add(node);
 				}
 			}
+			namespaceIndex = index;
 		}
-		return null;
+		return index;
 	}
 
-	private ITypeDocumentation find(String entry)
+	private ParsedType find(String entry)
+	{
+		synchronized(parsedCache)
+		{
+			ParsedType parsedType = parsedCache.get(entry);
+			if(parsedType != null)
+			{
+				return parsedType;
+			}
+		}
+
+		ITypeDocumentation documentation = parseEntry(entry);
+		if(documentation == null)
+		{
+			return null;
+		}
+
+		ParsedType parsedType = new ParsedType(documentation);
+		synchronized(parsedCache)
+		{
+			parsedCache.put(entry, parsedType);
+		}
+		return parsedType;
+	}
+
+	private ITypeDocumentation parseEntry(String entry)
 	{
-		ZipFile zip = null;
 		try
 		{
-			zip = new ZipFile(zipFile);
-			InputStream inputStream = zip.getInputStream(zip.getEntry(entry));
-			return parse(inputStream);
+			ZipFile zip = resources.getZip(zipFile);
+			ZipEntry zipEntry = zip.getEntry(entry);
+			if(zipEntry == null)
+			{
+				return null;
+			}
+
+			InputStream inputStream = zip.getInputStream(zipEntry);
+			try
+			{
+				return parse(inputStream);
+			}
+			finally
+			{
+				inputStream.close();
+			}
 		}
 		catch(Exception e)
 		{
 			return null;
 		}
-		finally
+	}
+
+	/**
+	 * Streaming parse of type xml. Only type Docs and Members/Member (MemberType, Parameters, Docs) are read,
+	 * and only Docs elements are materialized as small DOM fragments.
+	 */
+	private static ITypeDocumentation parse(InputStream inputStream) throws Exception
+	{
+		XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+		try
 		{
-			if(zip != null)
+			if(reader.nextTag() != XMLStreamConstants.START_ELEMENT)
 			{
-				try
+				return null;
+			}
+
+			String fullName = reader.getAttributeValue(null, "FullName");
+
+			Document document = documentBuilder.get().newDocument();
+			Element root = document.createElement(reader.getLocalName());
+			document.appendChild(root);
+
+			TypeDocumentation type = null;
+			while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+			{
+				String name = reader.getLocalName();
+				if(name.equals("Docs"))
 				{
-					zip.close();
+					type = new TypeDocumentation(fullName, readElement(reader, document, root));
 				}
-				catch(IOException ignored)
+				else if(name.equals("Members"))
 				{
+					if(type == null)
+					{
+						type = new TypeDocumentation(fullName, null);
+					}
+					parseMembers(reader, document, root, type);
+					break;
+				}
+				else
+				{
+					skipElement(reader);
 				}
 			}
+			return type;
+		}
+		finally
+		{
+			reader.close();
 		}
 	}
 
-	private static ITypeDocumentation parse(InputStream inputStream) throws Exception
+	private static void parseMembers(XMLStreamReader reader, Document document, Element root, TypeDocumentation type) throws XMLStreamException
 	{
-		DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-		Document document = builder.parse(inputStream);
-		Element element = (Element) document.getFirstChild();
-
-		NodeList nodes = element.getChildNodes();
-		TypeDocumentation type = null;
-		for(int i = 0; i < nodes.getLength(); i++)
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
 		{
-			Node node = nodes.item(i);
-			String name = node.getNodeName();
-			if(name.equals("Docs"))
+			if(!reader.getLocalName().equals("Member"))
 			{
-				type = new TypeDocumentation(element.getAttribute("FullName"), (Element) node);
+				skipElement(reader);
+				continue;
 			}
-			else if(name.equals("Members"))
+
+			String name = reader.getAttributeValue(null, "MemberName");
+			String memberType = null;
+			while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
 			{
-				if(type == null)
+				String nodeName = reader.getLocalName();
+				if(nodeName.equals("MemberType"))
 				{
-					type = new TypeDocumentation(element.getAttribute("FullName"), null);
+					memberType = reader.getElementText().trim();
 				}
-				NodeList members = node.getChildNodes();
-				for(int j = 0; j < members.getLength(); j++)
+				else if(nodeName.equals("Parameters"))
 				{
-					node = members.item(j);
-					if(node.getNodeName().equals("Member"))
+					if(!"Method".equals(memberType))
+					{
+						skipElement(reader);
+						continue;
+					}
+					StringBuilder buffer = new StringBuilder(name);
+					buffer.append('(');
+					int count = 0;
+					while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
 					{
-						Element member = (Element) node;
-						name = member.getAttribute("MemberName");
-						nodes = member.getChildNodes();
-						String memberType = null;
-						for(int k = 0; k < nodes.getLength(); k++)
+						String parameterType = reader.getAttributeValue(null, "Type");
+						if(count++ > 0)
 						{
-							node = nodes.item(k);
-							String nodeName = node.getNodeName();
-							if(nodeName.equals("MemberType"))
-							{
-								Text text = ((Text) node.getChildNodes().item(0));
-								memberType = text.getData().trim();
-							}
-							else if(nodeName.equals("Parameters"))
-							{
-								if(!memberType.equals("Method"))
-								{
-									continue;
-								}
-								NodeList parameters = node.getChildNodes();
-								int length = parameters.getLength();
-								if(length == 0)
-								{
-									name = name + "()";
-								}
-								else
-								{
-									StringBuilder buffer = new StringBuilder(name);
-									buffer.append('(');
-									for(int l = 0; l < parameters.getLength(); l++)
-									{
-										Node parameter = parameters.item(l);
-										if(parameter instanceof Element)
-										{
-											buffer.append(((Element) parameter).getAttribute("Type"));
-											buffer.append(',');
-										}
-									}
-									buffer.delete(buffer.length() - 1, buffer.length());
-									buffer.append(')');
-									name = CodeHierarchyHelper.convertSignature(buffer.toString());
-								}
-							}
-							else if(nodeName.equals("Docs"))
-							{
-								if(memberType.equals("Event") || memberType.equals("Constructor") || memberType.equals("Property") || memberType.equals("Method") || memberType.equals("Field"))
-								{
-									type.add(new Documentation(name, node));
-								}
-							}
+							buffer.append(',');
 						}
+						buffer.append(parameterType);
+						skipElement(reader);
 					}
+					buffer.append(')');
+					name = count == 0 ? buffer.toString() : CodeHierarchyHelper.convertSignature(buffer.toString());
+				}
+				else if(nodeName.equals("Docs"))
+				{
+					if("Event".equals(memberType) || "Constructor".equals(memberType) || "Property".equals(memberType) || "Method".equals(memberType) || "Field".equals(memberType))
+					{
+						type.add(new Documentation(name, readElement(reader, document, root)));
+					}
+					else
+					{
+						skipElement(reader);
+					}
+				}
+				else
+				{
+					skipElement(reader);
 				}
-				break;
 			}
 		}
+	}
 
-		return type;
+	/**
+	 * Reads current element (reader at START_ELEMENT) into DOM element, appended to parent. Reader stays at END_ELEMENT
+	 */
+	private static Element readElement(XMLStreamReader reader, Document document, Element parent) throws XMLStreamException
+	{
+		Element element = document.createElement(reader.getLocalName());
+		for(int i = 0; i < reader.getAttributeCount(); i++)
+		{
+			element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+		}
+		parent.appendChild(element);
+
+		while(true)
+		{
+			int event = reader.next();
+			switch(event)
+			{
+				case XMLStreamConstants.START_ELEMENT:
+					readElement(reader, document, element);
+					break;
+				// reader is coalescing - CDATA is reported as characters
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.SPACE:
+				case XMLStreamConstants.ENTITY_REFERENCE:
+					element.appendChild(document.createTextNode(reader.getText()));
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					return element;
+				case XMLStreamConstants.END_DOCUMENT:
+					throw new XMLStreamException("Unexpected end of document");
+				default:
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Skips current element (reader at START_ELEMENT) with all children. Reader stays at END_ELEMENT
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException
+	{
+		int depth = 1;
+		while(depth > 0)
+		{
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT)
+			{
+				depth++;
+			}
+			else if(event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+			}
+			else if(event == XMLStreamConstants.END_DOCUMENT)
+			{
+				throw new XMLStreamException("Unexpected end of document");
+			}
+		}
+	}
+
+	private static XMLInputFactory createXmlInputFactory()
+	{
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
 	}
 
 	private static boolean isValidSig(byte[] sig)
@@ -256,4 +590,197 @@ public final class MonodocTree extends MonodocNode
 		}
 		return sig[0] == (byte) 'M' && sig[1] == (byte) 'o' && sig[2] == (byte) 'H' && sig[3] == (byte) 'P';
 	}
+
+	/**
+	 * @return count of parameters in signature, or -1 if signature has no parameter list
+	 */
+	static int getParameterCount(String signature)
+	{
+		int start = signature.indexOf('(');
+		int end = signature.lastIndexOf(')');
+		if(start < 0 || end < start)
+		{
+			return -1;
+		}
+		if(signature.substring(start + 1, end).trim().length() == 0)
+		{
+			return 0;
+		}
+
+		int count = 1;
+		int depth = 0;
+		for(int i = start + 1; i < end; i++)
+		{
+			char c = signature.charAt(i);
+			if(c == '<' || c == '[' || c == '(')
+			{
+				depth++;
+			}
+			else if(c == '>' || c == ']' || c == ')')
+			{
+				depth--;
+			}
+			else if(c == ',' && depth == 0)
+			{
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String getMemberName(String signature)
+	{
+		int index = signature.indexOf('(');
+		return index < 0 ? signature : signature.substring(0, index);
+	}
+
+	/**
+	 * Parsed type with index of members by converted signature and by name
+	 */
+	private static final class ParsedType
+	{
+		private final ITypeDocumentation documentation;
+
+		// converted signature -> member, first wins
+		private final Map<String, IDocumentation> members = new HashMap<String, IDocumentation>();
+
+		// member name -> overloads in documentation order
+		private final Map<String, List<IDocumentation>> overloads = new HashMap<String, List<IDocumentation>>();
+
+		private ParsedType(ITypeDocumentation documentation)
+		{
+			this.documentation = documentation;
+
+			for(IDocumentation member : documentation.getDocumentation())
+			{
+				String signature = member.getName();
+				if(signature == null)
+				{
+					continue;
+				}
+				if(!members.containsKey(signature))
+				{
+					members.put(signature, member);
+				}
+
+				String name = getMemberName(signature);
+				List<IDocumentation> list = overloads.get(name);
+				if(list == null)
+				{
+					list = new ArrayList<IDocumentation>(1);
+					overloads.put(name, list);
+				}
+				list.add(member);
+			}
+		}
+
+		private IDocumentation findMember(String signature)
+		{
+			IDocumentation member = members.get(signature);
+			if(member != null)
+			{
+				return member;
+			}
+
+			List<IDocumentation> list = overloads.get(getMemberName(signature));
+			if(list == null)
+			{
+				return null;
+			}
+
+			int parameterCount = getParameterCount(signature);
+			if(parameterCount >= 0)
+			{
+				for(IDocumentation overload : list)
+				{
+					if(getParameterCount(overload.getName()) == parameterCount)
+					{
+						return overload;
+					}
+				}
+			}
+			return list.get(0);
+		}
+	}
+
+	/**
+	 * Open files of tree. Closed by {@link MonodocTree#close()}, or by cleaner if tree is not closed by owner
+	 */
+	private static final class Resources implements Runnable
+	{
+		private volatile DataInputImpl input;
+
+		// opened on first documentation lookup, guarded by this
+		private ZipFile zip;
+
+		private boolean closed;
+
+		private synchronized DataInputImpl open(File sourceFile) throws IOException
+		{
+			if(closed)
+			{
+				throw new IOException("Tree is closed");
+			}
+			DataInputImpl old = input;
+			input = new DataInputImpl(sourceFile);
+			if(old != null)
+			{
+				old.close();
+			}
+			return input;
+		}
+
+		private synchronized DataInputImpl getOrOpen(File sourceFile) throws IOException
+		{
+			DataInputImpl current = input;
+			return current != null ? current : open(sourceFile);
+		}
+
+		private synchronized ZipFile getZip(File zipFile) throws IOException
+		{
+			if(closed)
+			{
+				throw new IOException("Tree is closed");
+			}
+			if(zip == null)
+			{
+				zip = new ZipFile(zipFile);
+			}
+			return zip;
+		}
+
+		private synchronized void closeZip()
+		{
+			if(zip != null)
+			{
+				try
+				{
+					zip.close();
+				}
+				catch(IOException ignored)
+				{
+				}
+				zip = null;
+			}
+		}
+
+		@Override
+		public synchronized void run()
+		{
+			closed = true;
+			try
+			{
+				if(input != null)
+				{
+					input.close();
+				}
+			}
+			catch(IOException e)
+			{
+				// ignored
+			}
+			input = null;
+			closeZip();
+		}
+	}
 }
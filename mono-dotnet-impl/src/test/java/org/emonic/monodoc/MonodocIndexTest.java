@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.emonic.monodoc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonodocIndexTest
+{
+	@TempDir
+	File directory;
+
+	@Test
+	public void writeAndLoad() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "sub/test.index");
+
+		Map<String, Map<String, String>> entries = new HashMap<>();
+		Map<String, String> system = new LinkedHashMap<>();
+		system.put("String", "10");
+		system.put("Object", "11");
+		system.put("Int32", "12");
+		entries.put("System", system);
+		entries.put("System.IO", Map.of("File", "20"));
+		// non ascii names are compared as unsigned bytes
+		entries.put("\u00C4", Map.of("\u00D6", "30"));
+
+		MonodocIndex.write(indexFile, fixture.treeFile, fixture.zipFile, entries);
+		assertTrue(indexFile.isFile());
+		assertFalse(new File(indexFile.getPath() + ".tmp").exists());
+
+		MonodocIndex index = MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile);
+		assertNotNull(index);
+		assertEquals(5, index.size());
+		assertEquals("10", index.findEntry("System", "String"));
+		assertEquals("11", index.findEntry("System", "Object"));
+		assertEquals("12", index.findEntry("System", "Int32"));
+		assertEquals("20", index.findEntry("System.IO", "File"));
+		assertEquals("30", index.findEntry("\u00C4", "\u00D6"));
+
+		assertNull(index.findEntry("System", "Missing"));
+		assertNull(index.findEntry("System.IO", "String"));
+		assertNull(index.findEntry("Missing", "String"));
+	}
+
+	@Test
+	public void emptyIndex() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "test.index");
+
+		MonodocIndex.write(indexFile, fixture.treeFile, fixture.zipFile, new HashMap<>());
+
+		MonodocIndex index = MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile);
+		assertNotNull(index);
+		assertEquals(0, index.size());
+		assertNull(index.findEntry("System", "String"));
+	}
+
+	@Test
+	public void staleIndex() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "test.index");
+
+		MonodocIndex.write(indexFile, fixture.treeFile, fixture.zipFile, Map.of("System", Map.of("String", "10")));
+		assertNotNull(MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile));
+
+		// index of other tree
+		File otherTree = new File(directory, "other.tree");
+		Files.copy(fixture.treeFile.toPath(), otherTree.toPath());
+		assertNull(MonodocIndex.load(indexFile, otherTree, fixture.zipFile));
+
+		// changed zip
+		Files.write(fixture.zipFile.toPath(), new byte[]{1, 2, 3});
+		assertNull(MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile));
+	}
+
+	@Test
+	public void brokenIndex() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "test.index");
+
+		assertNull(MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile));
+
+		Files.write(indexFile.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+		assertNull(MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile));
+
+		Files.write(indexFile.toPath(), new byte[0]);
+		assertNull(MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile));
+	}
+
+	@Test
+	public void rewriteIndex() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "test.index");
+
+		MonodocIndex.write(indexFile, fixture.treeFile, fixture.zipFile, Map.of("System", Map.of("String", "10")));
+		MonodocIndex.write(indexFile, fixture.treeFile, fixture.zipFile, Map.of("System", Map.of("String", "42")));
+
+		MonodocIndex index = MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile);
+		assertNotNull(index);
+		assertEquals("42", index.findEntry("System", "String"));
+		assertFalse(new File(indexFile.getPath() + ".tmp").exists());
+	}
+}
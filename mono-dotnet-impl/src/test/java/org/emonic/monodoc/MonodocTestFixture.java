@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.emonic.monodoc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Small synthetic monodoc .tree/.zip pair: {@link #NAMESPACES} namespaces 'NsN.Sub', each with {@link #TYPES} types 'TypeN',
+ * each type with method 'M(System.Int32)' and property 'P'
+ */
+final class MonodocTestFixture
+{
+	static final int NAMESPACES = 3;
+	static final int TYPES = 4;
+
+	final File treeFile;
+	final File zipFile;
+
+	private MonodocTestFixture(File treeFile, File zipFile)
+	{
+		this.treeFile = treeFile;
+		this.zipFile = zipFile;
+	}
+
+	static String getNamespace(int index)
+	{
+		return "Ns" + index + ".Sub";
+	}
+
+	static String getType(int index)
+	{
+		return "Type" + index;
+	}
+
+	static MonodocTestFixture generate(File directory) throws IOException
+	{
+		MonodocTestFixture fixture = new MonodocTestFixture(new File(directory, "test.tree"), new File(directory, "test.zip"));
+
+		ByteArrayOutputStream tree = new ByteArrayOutputStream();
+		// signature + root address, patched after
+		tree.write(new byte[]{'M', 'o', 'H', 'P', 0, 0, 0, 0});
+
+		int[] namespaceAddresses = new int[NAMESPACES];
+		try(ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(fixture.zipFile)))
+		{
+			int entry = 0;
+			for(int n = 0; n < NAMESPACES; n++)
+			{
+				String namespace = getNamespace(n);
+
+				int[] typeAddresses = new int[TYPES];
+				for(int t = 0; t < TYPES; t++)
+				{
+					String type = getType(t);
+					typeAddresses[t] = writeNode(tree, "ecma:" + entry + "#" + type + "/", type, new int[0]);
+
+					zip.putNextEntry(new ZipEntry(String.valueOf(entry)));
+					zip.write(buildTypeXml(namespace, type).getBytes(StandardCharsets.UTF_8));
+					zip.closeEntry();
+					entry++;
+				}
+				namespaceAddresses[n] = writeNode(tree, "N:" + namespace, namespace, typeAddresses);
+			}
+		}
+
+		int root = writeNode(tree, "root:", "root", namespaceAddresses);
+
+		byte[] bytes = tree.toByteArray();
+		// little-endian, like .NET BinaryWriter
+		bytes[4] = (byte) root;
+		bytes[5] = (byte) (root >>> 8);
+		bytes[6] = (byte) (root >>> 16);
+		bytes[7] = (byte) (root >>> 24);
+
+		try(OutputStream out = new FileOutputStream(fixture.treeFile))
+		{
+			out.write(bytes);
+		}
+		return fixture;
+	}
+
+	private static String buildTypeXml(String namespace, String type)
+	{
+		return "<Type Name=\"" + type + "\" FullName=\"" + namespace + "." + type + "\">" +
+				"<Docs><summary>Documentation of " + type + "</summary></Docs>" +
+				"<Members>" +
+				"<Member MemberName=\"M\"><MemberType>Method</MemberType>" +
+				"<Parameters><Parameter Name=\"value\" Type=\"System.Int32\" /></Parameters>" +
+				"<Docs><summary>Method</summary></Docs></Member>" +
+				"<Member MemberName=\"P\"><MemberType>Property</MemberType>" +
+				"<Docs><summary>Property</summary></Docs></Member>" +
+				"</Members></Type>";
+	}
+
+	/**
+	 * Node layout of MonodocNode: 7-bit encoded child count, element, caption, 7-bit encoded child addresses
+	 */
+	private static int writeNode(ByteArrayOutputStream out, String element, String caption, int[] children)
+	{
+		int address = out.size();
+		write7BitEncodedInt(out, children.length);
+		writeString(out, element);
+		writeString(out, caption);
+		for(int child : children)
+		{
+			write7BitEncodedInt(out, child);
+		}
+		return address;
+	}
+
+	private static void writeString(ByteArrayOutputStream out, String value)
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		write7BitEncodedInt(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private static void write7BitEncodedInt(ByteArrayOutputStream out, int value)
+	{
+		while((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.emonic.monodoc;
+
+import org.emonic.base.documentation.IDocumentation;
+import org.emonic.base.documentation.ITypeDocumentation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonodocTreeTest
+{
+	@TempDir
+	File directory;
+
+	@Test
+	public void findDocumentation() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+
+		MonodocTree tree = new MonodocTree(fixture.treeFile, fixture.zipFile);
+		try
+		{
+			tree.loadNode();
+
+			for(int n = 0; n < MonodocTestFixture.NAMESPACES; n++)
+			{
+				for(int t = 0; t < MonodocTestFixture.TYPES; t++)
+				{
+					String namespace = MonodocTestFixture.getNamespace(n);
+					String type = MonodocTestFixture.getType(t);
+
+					ITypeDocumentation documentation = tree.findDocumentation(namespace, type);
+					assertNotNull(documentation, namespace + "." + type);
+					assertEquals(namespace + "." + type, documentation.getName());
+				}
+			}
+
+			assertNull(tree.findDocumentation(MonodocTestFixture.getNamespace(0), "Missing"));
+			assertNull(tree.findDocumentation("Missing.Namespace", MonodocTestFixture.getType(0)));
+			assertNull(tree.findDocumentation(null, MonodocTestFixture.getType(0)));
+		}
+		finally
+		{
+			tree.close();
+		}
+	}
+
+	@Test
+	public void findMemberDocumentation() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+
+		MonodocTree tree = new MonodocTree(fixture.treeFile, fixture.zipFile);
+		try
+		{
+			tree.loadNode();
+
+			String namespace = MonodocTestFixture.getNamespace(1);
+			String type = MonodocTestFixture.getType(2);
+
+			IDocumentation property = tree.findMemberDocumentation(namespace, type, "P");
+			assertNotNull(property);
+			assertEquals("P", property.getName());
+
+			// no overload with same signature - first overload with same parameter count
+			IDocumentation method = tree.findMemberDocumentation(namespace, type, "M(long)");
+			assertNotNull(method);
+			assertTrue(method.getName().startsWith("M("), method.getName());
+
+			assertNull(tree.findMemberDocumentation(namespace, type, "Missing"));
+			assertNull(tree.findMemberDocumentation(namespace, "Missing", "P"));
+		}
+		finally
+		{
+			tree.close();
+		}
+	}
+
+	@Test
+	public void loadIndexed() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+		File indexFile = new File(directory, "test.index");
+
+		// first load walks tree and writes index
+		MonodocTree tree = new MonodocTree(fixture.treeFile, fixture.zipFile, indexFile);
+		try
+		{
+			tree.loadIndexed();
+		}
+		finally
+		{
+			tree.close();
+		}
+		assertTrue(indexFile.isFile());
+
+		MonodocIndex index = MonodocIndex.load(indexFile, fixture.treeFile, fixture.zipFile);
+		assertNotNull(index);
+		assertEquals(MonodocTestFixture.NAMESPACES * MonodocTestFixture.TYPES, index.size());
+
+		// second load maps index
+		MonodocTree indexedTree = new MonodocTree(fixture.treeFile, fixture.zipFile, indexFile);
+		try
+		{
+			indexedTree.loadIndexed();
+
+			String namespace = MonodocTestFixture.getNamespace(MonodocTestFixture.NAMESPACES - 1);
+			String type = MonodocTestFixture.getType(MonodocTestFixture.TYPES - 1);
+			ITypeDocumentation documentation = indexedTree.findDocumentation(namespace, type);
+			assertNotNull(documentation);
+			assertEquals(namespace + "." + type, documentation.getName());
+
+			assertNull(indexedTree.findDocumentation(namespace, "Missing"));
+		}
+		finally
+		{
+			indexedTree.close();
+		}
+	}
+
+	@Test
+	public void closedTree() throws IOException
+	{
+		MonodocTestFixture fixture = MonodocTestFixture.generate(directory);
+
+		MonodocTree tree = new MonodocTree(fixture.treeFile, fixture.zipFile);
+		tree.loadNode();
+		tree.close();
+
+		// nodes of namespace are not read yet, closed tree must not try to read them
+		assertNull(tree.findDocumentation(MonodocTestFixture.getNamespace(0), MonodocTestFixture.getType(0)));
+	}
+
+	@Test
+	public void getParameterCount()
+	{
+		assertEquals(-1, MonodocTree.getParameterCount("P"));
+		assertEquals(0, MonodocTree.getParameterCount("M()"));
+		assertEquals(1, MonodocTree.getParameterCount("M(int)"));
+		assertEquals(2, MonodocTree.getParameterCount("M(Dictionary<int, string>, int[,])"));
+	}
+}